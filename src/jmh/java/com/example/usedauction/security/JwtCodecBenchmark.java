@@ -0,0 +1,122 @@
+package com.example.usedauction.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+// JWT 생성/검증 처리량 (스레드 1개, 4개, 8개)
+// codec*: 미리 만들어 둔 키와 parser를 공유하는 JwtCodec
+// perCall*: 변경 전 JwtTokenProvider처럼 호출마다 Keys.hmacShaKeyFor와 Jwts.parserBuilder().build()를 수행
+// 다른 스레드 수는 -t 옵션으로도 측정 가능 (예: -t 16)
+@State(Scope.Benchmark)
+public class JwtCodecBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-32-characters";
+
+    private JwtCodec codec;
+    private byte[] secretBytes;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = new JwtCodec(SECRET);
+        secretBytes = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)).getEncoded();
+        tokens = new String[1_000];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = codec.encode("user-" + i + "@example.com", 3_600_000);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String codecCreate1() {
+        return codec.encode("user@example.com", 3_600_000);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String codecCreate4() {
+        return codec.encode("user@example.com", 3_600_000);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String codecCreate8() {
+        return codec.encode("user@example.com", 3_600_000);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Claims codecValidate1() {
+        return codec.decode(randomToken());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Claims codecValidate4() {
+        return codec.decode(randomToken());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Claims codecValidate8() {
+        return codec.decode(randomToken());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String perCallCreate1() {
+        return perCallCreate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String perCallCreate4() {
+        return perCallCreate();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Claims perCallValidate1() {
+        return perCallValidate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Claims perCallValidate4() {
+        return perCallValidate();
+    }
+
+    private String perCallCreate() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setClaims(Jwts.claims().setSubject("user@example.com"))
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(secretBytes), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private Claims perCallValidate() {
+        return Jwts.parserBuilder()
+                .setSigningKey(secretBytes)
+                .build()
+                .parseClaimsJws(randomToken())
+                .getBody();
+    }
+
+    private String randomToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.usedauction.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+// JwtRequestFilter가 요청마다 토큰의 사용자를 확인하는 비용 (변경 전/후)
+// before: 변경 전 순서 그대로 validateToken + getEmail (파싱 두 번) + loadUserByUsername
+// after: 캐시에 있는 토큰 (digest 계산 + 캐시 조회만)
+// 사용자 조회는 메모리 stub이므로 실제 서버에서는 before에 Mongo findByEmail 왕복 시간이 더해짐
+@State(Scope.Benchmark)
+public class JwtRequestFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-32-characters";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserDetailsService userDetailsService;
+    private JwtRequestFilter filter;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(new JwtCodec(SECRET));
+        userDetailsService = email -> User.builder().username(email).password("{noop}pw").authorities("USER").build();
+        filter = new JwtRequestFilter(jwtTokenProvider, userDetailsService,
+                new PrincipalCache(new SimpleMeterRegistry(), 10_000, 300));
+
+        tokens = new String[1_000]; // 서로 다른 사용자 1000명의 토큰
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = Jwts.builder().setSubject("user-" + i + "@example.com").setIssuedAt(new Date())
+                    .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                    .compact();
+            filter.resolveUser(tokens[i]); // 캐시 채우기
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UserDetails before() {
+        String token = randomToken();
+        if (!jwtTokenProvider.validateToken(token)) {
+            return null;
+        }
+        return userDetailsService.loadUserByUsername(jwtTokenProvider.getEmail(token));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UserDetails after() {
+        return filter.resolveUser(randomToken());
+    }
+
+    private String randomToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.usedauction.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 상품 100만 개 색인에서 키워드 검색 한 번에 드는 시간 측정 (목표: 한 자릿수 밀리초)
+// common: 상품의 약 10%에 나오는 단어, rare: 드문 단어 조합, prefix: 입력 중인 한 글자
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemTextIndexBenchmark {
+
+    private static final String[] BRANDS = {"아이폰", "갤럭시", "맥북", "아이패드", "에어팟", "닌텐도", "플레이스테이션", "다이슨", "캐논", "소니"};
+    private static final String[] NOUNS = {"자전거", "캠핑의자", "책상", "모니터", "키보드", "마우스", "유모차", "냉장고", "세탁기", "전자레인지",
+            "패딩", "운동화", "가방", "시계", "카메라", "렌즈", "텐트", "소파", "침대", "식탁"};
+    private static final String[] WORDS = {"팝니다", "급처", "새상품", "미개봉", "상태좋음", "직거래", "택배가능", "네고가능", "정품", "풀박스"};
+
+    @Param({"1000000"})
+    public int items;
+
+    private ItemTextIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ItemTextIndex();
+        Random random = new Random(1);
+        for (int i = 0; i < items; i++) {
+            String title = BRANDS[random.nextInt(BRANDS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(100);
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                    + "입니다 " + WORDS[random.nextInt(WORDS.length)];
+            index.put("item-" + i, title, description);
+        }
+    }
+
+    @Benchmark
+    public List<ItemTextIndex.Hit> common() {
+        return index.search("아이폰", 20);
+    }
+
+    @Benchmark
+    public List<ItemTextIndex.Hit> rare() {
+        return index.search("다이슨 전자레인지 미개봉", 20);
+    }
+
+    @Benchmark
+    public List<ItemTextIndex.Hit> prefix() {
+        return index.search("캠", 20);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.usedauction.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// 입찰 속도 제한 한 번에 드는 비용 측정 (목표: 요청당 1마이크로초보다 충분히 작게)
+// hotItem: 모든 스레드가 같은 상품 키 하나를 두고 경쟁 (CAS 충돌이 가장 많은 경우)
+// manyBidders: 스레드마다 여러 입찰자 키에 고르게 분산
+@State(Scope.Benchmark)
+public class TokenBucketTableBenchmark {
+
+    @Param({"64"})
+    public int stripes;
+
+    private TokenBucketTable hotItemTable;
+    private TokenBucketTable bidderTable;
+    private TokenBucketTable exhaustedTable;
+    private String[] bidderKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 한도를 크게 잡아 허용 경로(CAS 갱신)를 측정
+        hotItemTable = new TokenBucketTable(1_000_000_000d, 1_000_000, stripes);
+        bidderTable = new TokenBucketTable(1_000_000_000d, 1_000_000, stripes);
+        // 거의 항상 거절되는 한도 (거절 경로는 CAS 없이 읽기만 함)
+        exhaustedTable = new TokenBucketTable(1d, 1, stripes);
+
+        bidderKeys = new String[10_000];
+        for (int i = 0; i < bidderKeys.length; i++) {
+            bidderKeys[i] = "bidder-" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long hotItem() {
+        return hotItemTable.tryAcquire("item-hot", System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long manyBidders() {
+        String key = bidderKeys[ThreadLocalRandom.current().nextInt(bidderKeys.length)];
+        return bidderTable.tryAcquire(key, System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long hotItemRejected() {
+        return exhaustedTable.tryAcquire("item-hot", System.nanoTime());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.usedauction.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 지금 뜨는 상품 집계 비용 측정
+// record: 조회/입찰 한 번을 sketch에 더하는 비용 (요청 경로, 일부 상품에 조회가 몰리는 분포)
+// top: 백그라운드 순위 계산 한 번의 비용 (후보 목록이 가득 찬 상태)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrendingSketchBenchmark {
+
+    private static final int ITEMS = 100_000;
+
+    private TrendingSketch sketch;
+    private String[] itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sketch = new TrendingSketch(10, 4, 16384, 2000);
+        itemIds = new String[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds[i] = String.format("66a1%020x", i); // ObjectId 형식의 상품 ID
+        }
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.add(pick(), 1);
+        }
+        sketch.top(50);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void record() {
+        sketch.add(pick(), 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<TrendingSketch.Entry> top() {
+        return sketch.top(100);
+    }
+
+    // 상품 번호가 작을수록 자주 나오는 분포 (1000개 상품에 조회의 절반 정도가 몰림)
+    private String pick() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        return itemIds[(int) (ITEMS * u * u * u)];
+    }
+}
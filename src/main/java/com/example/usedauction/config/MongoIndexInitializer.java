@@ -0,0 +1,85 @@
+package com.example.usedauction.config;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.model.ProxyBid;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 모델 클래스에 선언된 인덱스(@CompoundIndex, @Indexed)를 서버 시작 시 생성하고 실제로 있는지 확인
+// spring.data.mongodb.auto-index-creation 설정과 관계없이 검색 쿼리가 쓰는 인덱스가 항상 준비되도록 함
+// 인덱스가 없으면 검색이 컬렉션 전체를 읽게 되므로, 웹 서버가 요청을 받기 전(빈 초기화 중)에 확인하고
+// 없는 인덱스가 있으면 서버 시작을 중단 (auction.mongo.require-indexes=false면 경고만 출력)
+@Component
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> INDEXED_TYPES = List.of(Item.class, Bid.class, ProxyBid.class);
+    // 더 이상 쓰지 않는 상품 인덱스 (가격 조건이 lastPrice만 보던 때의 검색 인덱스)
+    private static final List<String> OBSOLETE_ITEM_INDEXES =
+            List.of("region_id_lastPrice_endDateTime", "userId_id_lastPrice_endDateTime");
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean requireIndexes; // 없는 인덱스가 있으면 서버 시작을 중단할지 여부
+
+    @Autowired
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 @Value("${auction.mongo.require-indexes:true}") boolean requireIndexes) {
+        this.mongoTemplate = mongoTemplate;
+        this.requireIndexes = requireIndexes;
+    }
+
+    @PostConstruct
+    public void ensureIndexes() {
+        List<String> missingIndexes = new ArrayList<>();
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        for (Class<?> type : INDEXED_TYPES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            if (type == Item.class) {
+                dropObsoleteIndexes(indexOps);
+            }
+            List<String> expected = new ArrayList<>();
+            for (IndexDefinition definition : resolver.resolveIndexFor(type)) {
+                expected.add(indexOps.ensureIndex(definition)); // 이미 같은 인덱스가 있으면 아무 일도 하지 않음
+            }
+
+            Set<String> existing = indexOps.getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .collect(Collectors.toSet());
+            List<String> missing = expected.stream().filter(name -> !existing.contains(name)).collect(Collectors.toList());
+            if (missing.isEmpty()) {
+                System.out.println("Indexes verified for " + mongoTemplate.getCollectionName(type) + ": " + expected);
+            } else {
+                System.out.println("Missing indexes for " + mongoTemplate.getCollectionName(type) + ": " + missing);
+                missing.forEach(name -> missingIndexes.add(mongoTemplate.getCollectionName(type) + "." + name));
+            }
+        }
+
+        if (!missingIndexes.isEmpty() && requireIndexes) {
+            throw new IllegalStateException("Required MongoDB indexes are missing: " + missingIndexes);
+        }
+    }
+
+    // 쓰지 않는 인덱스는 쓰기마다 갱신 비용만 들므로 제거
+    private void dropObsoleteIndexes(IndexOperations indexOps) {
+        for (IndexInfo index : indexOps.getIndexInfo()) {
+            if (OBSOLETE_ITEM_INDEXES.contains(index.getName())) {
+                indexOps.dropIndex(index.getName());
+                System.out.println("Dropped obsolete index: " + index.getName());
+            }
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.usedauction.config;
 
+import com.example.usedauction.controller.ImageFileFilter;
+import com.example.usedauction.service.ImageStore;
+import com.example.usedauction.service.ThumbnailService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -17,8 +22,19 @@ public class WebConfig {
                         .allowedOriginPatterns("*") // allowedOrigins 대신 allowedOriginPatterns 사용
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("X-Next-Cursor", "X-Query-Index", "ETag", "Content-Range") // 브라우저에서 페이지 cursor, 사용 인덱스, ETag, 부분 응답 범위 헤더를 읽을 수 있도록 허용
                         .allowCredentials(true);
             }
         };
     }
+
+    // 이미지 파일 전송 필터를 보안 필터보다 먼저 /api/images/* 에만 등록
+    @Bean
+    public FilterRegistrationBean<ImageFileFilter> imageFileFilter(ImageStore imageStore, ThumbnailService thumbnailService) {
+        FilterRegistrationBean<ImageFileFilter> registration =
+                new FilterRegistrationBean<>(new ImageFileFilter(imageStore, thumbnailService));
+        registration.addUrlPatterns("/api/images/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
 }
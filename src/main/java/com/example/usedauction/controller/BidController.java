@@ -1,11 +1,23 @@
 package com.example.usedauction.controller;
 
 import com.example.usedauction.model.Bid; // 입찰 정보를 위한 모델 클래스
+import com.example.usedauction.model.ProxyBid; // 자동 입찰 등록 요청
 import com.example.usedauction.model.User;
+import com.example.usedauction.repository.BidRepositoryCustom.BidOrder; // 입찰 기록 정렬 기준
 import com.example.usedauction.service.BidService; // 입찰 관련 비즈니스 로직을 처리하는 서비스 클래스
+import com.example.usedauction.service.BidLeaderboardService; // 상품별 상위 입찰 순위 서비스
+import com.example.usedauction.service.BidRateLimiter; // 입찰 요청 속도 제한
+import com.example.usedauction.service.BidLeaderboardService.TopBids; // 상위 입찰 응답
+import com.example.usedauction.service.BidRejectedException; // 입찰 거절 사유를 담은 예외
+import com.example.usedauction.service.BidService.BidHistoryPage; // 입찰 기록 한 페이지
 import com.example.usedauction.service.BidService.BidWithNickname; // 입찰과 닉네임 정보를 함께 제공하는 클래스
+import com.example.usedauction.service.IdempotencyStore; // 재전송된 입찰 요청의 응답 저장소
+import com.example.usedauction.service.ProxyBidService; // 자동 입찰 서비스
+import com.example.usedauction.service.ProxyBidService.ProxyBidResult; // 자동 입찰 등록 결과
 import com.example.usedauction.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired; // 스프링의 의존성 주입을 위한 어노테이션
+import org.springframework.dao.DuplicateKeyException; // 유일 인덱스 위반 예외
+import org.springframework.http.HttpHeaders; // 응답 헤더 이름
 import org.springframework.http.HttpStatus; // HTTP 상태 코드를 관리하기 위한 클래스
 import org.springframework.http.ResponseEntity; // HTTP 응답을 나타내기 위한 클래스
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,25 +28,40 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List; // 리스트를 사용하기 위한 임포트
 import java.util.Optional;
+import java.util.concurrent.TimeUnit; // Retry-After 계산을 위한 시간 단위
 
 @RestController // 이 클래스가 RESTful 웹 서비스의 컨트롤러임을 나타냄
 @RequestMapping("/api/bids") // 이 컨트롤러가 처리하는 기본 요청 경로 설정
 public class BidController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor"; // 다음 페이지 cursor를 담는 응답 헤더
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key"; // 재전송된 입찰 요청을 구분하는 요청 헤더
+
     @Autowired
     private UserService userService;
 
     private final BidService bidService; // BidService를 사용하기 위한 필드
+    private final BidLeaderboardService bidLeaderboardService; // 상품별 상위 입찰 순위
+    private final ProxyBidService proxyBidService; // 자동 입찰
+    private final BidRateLimiter bidRateLimiter; // 입찰자별, 상품별 요청 속도 제한
+    private final IdempotencyStore idempotencyStore; // Idempotency-Key별 입찰 응답
 
     @Autowired // 스프링이 BidService의 인스턴스를 자동으로 주입
-    public BidController(BidService bidService) {
+    public BidController(BidService bidService, BidLeaderboardService bidLeaderboardService,
+                         ProxyBidService proxyBidService, BidRateLimiter bidRateLimiter,
+                         IdempotencyStore idempotencyStore) {
         this.bidService = bidService;
+        this.bidLeaderboardService = bidLeaderboardService;
+        this.proxyBidService = proxyBidService;
+        this.bidRateLimiter = bidRateLimiter;
+        this.idempotencyStore = idempotencyStore;
     }
 
     // 새로운 입찰 정보를 저장하는 엔드포인트
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping(consumes = {"application/json"})
-    public ResponseEntity<Bid> placeBid(@RequestBody Bid bid) {
+    public ResponseEntity<?> placeBid(@RequestBody Bid bid,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         // 현재 인증된 사용자의 정보를 가져오기
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email;
@@ -46,17 +73,29 @@ public class BidController {
             email = authentication.getPrincipal().toString();
         }
 
+        // 사용자 조회 전에 입찰자(이메일)별, 상품별 요청 속도를 확인하여 초과하면 429 Too Many Requests 반환
+        long waitNanos = bidRateLimiter.tryAcquire(email, bid.getItemId());
+        if (waitNanos > 0) {
+            return tooManyRequests(waitNanos);
+        }
+
         // 사용자 정보를 이용하여 사용자 ID를 가져옴
         Optional<User> user = userService.getUserByEmail(email);
         if (user.isPresent()) {
             // 인증된 사용자의 ID를 입찰 정보에 설정
             bid.setBidderId(user.get().getId());
 
-            // BidService를 통해 입찰 정보 저장
-            Bid placedBid = bidService.placeBid(bid.getItemId(), bid.getBidderId(), bid.getBidAmount());
+            if (idempotencyKey == null) {
+                return submitBid(bid, null);
+            }
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyStore.MAX_KEY_LENGTH) {
+                return ResponseEntity.badRequest().body("Invalid " + IDEMPOTENCY_KEY_HEADER); // 비어 있거나 너무 긴 키는 400 Bad Request
+            }
 
-            // 저장된 입찰 정보를 HTTP 상태 코드 201 (Created)와 함께 반환
-            return new ResponseEntity<>(placedBid, HttpStatus.CREATED);
+            // 키는 입찰자별로 구분하고, 같은 키의 요청은 처음 요청의 응답을 그대로 반환 (서버 오류 응답은 저장하지 않음)
+            String scopedKey = bid.getBidderId() + ":" + idempotencyKey;
+            return idempotencyStore.execute(scopedKey, () -> submitBid(bid, scopedKey),
+                    response -> !response.getStatusCode().is5xxServerError());
         } else {
             // 인증된 사용자를 찾을 수 없는 경우 404 Not Found 반환
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -64,17 +103,138 @@ public class BidController {
     }
 
 
-    // 모든 입찰 기록을 가져오는 엔드포인트
-    @GetMapping // GET 요청을 처리하여 모든 입찰 기록을 반환
-    public ResponseEntity<List<Bid>> getAllBids() {
-        List<Bid> bids = bidService.getAllBids(); // BidService를 통해 모든 입찰 기록을 조회
+    // BidService를 통해 입찰 정보를 저장하고 응답을 만드는 메서드
+    private ResponseEntity<?> submitBid(Bid bid, String idempotencyKey) {
+        try {
+            Bid placedBid = bidService.placeBid(bid.getItemId(), bid.getBidderId(), bid.getBidAmount(), idempotencyKey);
+
+            // 저장된 입찰 정보를 HTTP 상태 코드 201 (Created)와 함께 반환
+            return new ResponseEntity<>(placedBid, HttpStatus.CREATED);
+        } catch (BidRejectedException e) {
+            // 메모리에 없는 키(서버 재시작 등)로 재전송된 입찰은 최고가가 이미 올라 거절되므로, 저장된 원래 입찰이 있으면 그대로 반환
+            Optional<Bid> original = findOriginalBid(idempotencyKey);
+            if (original.isPresent()) {
+                return new ResponseEntity<>(original.get(), HttpStatus.CREATED);
+            }
+
+            // 상품이 없으면 404 Not Found, 마감되었거나 금액이 부족하면 409 Conflict 반환
+            HttpStatus status = e.getReason() == BidRejectedException.Reason.ITEM_NOT_FOUND
+                    ? HttpStatus.NOT_FOUND : HttpStatus.CONFLICT;
+            return new ResponseEntity<>(e.getReason() + ": " + e.getMessage(), status);
+        } catch (DuplicateKeyException e) {
+            // 다른 서버 등에서 같은 키의 입찰이 먼저 저장된 경우 (유일 인덱스)
+            return findOriginalBid(idempotencyKey)
+                    .<ResponseEntity<?>>map(original -> new ResponseEntity<>(original, HttpStatus.CREATED))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<Bid> findOriginalBid(String idempotencyKey) {
+        return idempotencyKey != null ? bidService.findByIdempotencyKey(idempotencyKey) : Optional.empty();
+    }
+
+    // 자동 입찰(최대 금액)을 등록하는 엔드포인트
+    // 다른 입찰에 밀리면 서버가 최대 금액까지 입찰 단위만큼 대신 올려줌 (같은 상품에 다시 보내면 최대 금액 변경)
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping(value = "/proxy", consumes = {"application/json"})
+    public ResponseEntity<?> registerProxyBid(@RequestBody ProxyBid proxyBid) {
+        // 현재 인증된 사용자의 정보를 가져오기
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email;
+        if (authentication.getPrincipal() instanceof UserDetails) {
+            email = ((UserDetails) authentication.getPrincipal()).getUsername();
+        } else {
+            email = authentication.getPrincipal().toString();
+        }
+
+        long waitNanos = bidRateLimiter.tryAcquire(email, proxyBid.getItemId()); // 입찰과 같은 속도 제한 적용
+        if (waitNanos > 0) {
+            return tooManyRequests(waitNanos);
+        }
+
+        Optional<User> user = userService.getUserByEmail(email);
+        if (user.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND); // 인증된 사용자를 찾을 수 없는 경우 404 Not Found 반환
+        }
+
+        try {
+            ProxyBidResult result = proxyBidService.register(proxyBid.getItemId(), user.get().getId(), proxyBid.getMaxAmount());
+            return new ResponseEntity<>(result, HttpStatus.CREATED); // 등록 결과(현재 최고가, 최고 입찰자 여부) 반환
+        } catch (BidRejectedException e) {
+            // 입찰과 같은 규칙: 상품이 없으면 404 Not Found, 마감되었거나 최대 금액이 부족하면 409 Conflict 반환
+            HttpStatus status = e.getReason() == BidRejectedException.Reason.ITEM_NOT_FOUND
+                    ? HttpStatus.NOT_FOUND : HttpStatus.CONFLICT;
+            return new ResponseEntity<>(e.getReason() + ": " + e.getMessage(), status);
+        }
+    }
+
+
+    // 속도 제한에 걸린 요청에 대한 429 응답 (Retry-After는 초 단위로 올림)
+    private static ResponseEntity<String> tooManyRequests(long waitNanos) {
+        long waitMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(waitNanos), 1);
+        long retryAfterSeconds = Math.max((waitMillis + 999) / 1000, 1);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body("RATE_LIMITED: retry after " + waitMillis + " ms");
+    }
+
+    // 모든 입찰 기록을 페이지 단위로 가져오는 엔드포인트 (size는 최대 BidService.MAX_PAGE_SIZE)
+    @GetMapping // GET 요청을 처리하여 입찰 기록 한 페이지를 반환
+    public ResponseEntity<List<Bid>> getAllBids(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + BidService.MAX_PAGE_SIZE) int size) {
+        List<Bid> bids = bidService.getAllBids(page, size); // BidService를 통해 입찰 기록을 조회
         return new ResponseEntity<>(bids, HttpStatus.OK); // 조회된 입찰 기록을 HTTP 상태 코드 200 (OK)와 함께 반환
     }
 
-    // 특정 상품의 입찰 기록을 가져오는 엔드포인트
+    // 특정 상품의 상위 입찰과 입찰 횟수를 가져오는 엔드포인트 (메모리의 순위에서 바로 응답, 상품이 없으면 404)
+    @GetMapping("/{itemId}/top")
+    public ResponseEntity<TopBids> getTopBids(@PathVariable String itemId) {
+        return bidLeaderboardService.getTopBids(itemId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 특정 상품의 입찰 기록을 한 페이지 가져오는 엔드포인트
+    // sort는 amount(금액 순) 또는 time(최신 순), 다음 페이지 cursor는 X-Next-Cursor 헤더로 전달
+    // ETag는 상품의 입찰 횟수와 정렬, cursor, 페이지 크기로 만든 weak ETag이며 (닉네임은 버전에 포함되지 않음),
+    // If-None-Match가 같으면 목록을 조회하지 않고 304 Not Modified 반환
     @GetMapping("/{itemId}")
-    public ResponseEntity<List<BidWithNickname>> getBidsByItemId(@PathVariable String itemId) {
-        List<BidWithNickname> bids = bidService.getBidsByItemId(itemId);
-        return new ResponseEntity<>(bids, HttpStatus.OK);
+    public ResponseEntity<List<BidWithNickname>> getBidsByItemId(
+            @PathVariable String itemId,
+            @RequestParam(defaultValue = "amount") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BidService.DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        BidHistoryPage page;
+        String etag = null;
+        try {
+            BidOrder order = BidOrder.valueOf(sort.toUpperCase());
+            if (ifNoneMatch != null) {
+                Optional<Integer> bidCount = bidService.getBidCount(itemId);
+                if (bidCount.isPresent()) {
+                    etag = ETags.weak(BidService.historyTag(bidCount.get(), order, cursor, size));
+                    if (ETags.matches(ifNoneMatch, etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build(); // 새 입찰 없음
+                    }
+                }
+            }
+
+            page = bidService.getBidsByItemId(itemId, order, cursor, size);
+            if (page.getVersion() != null) {
+                etag = ETags.weak(BidService.historyTag(page.getVersion(), order, cursor, size));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 잘못된 정렬 기준이나 cursor면 400 Bad Request 반환
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor()); // 다음 페이지가 있을 때만 cursor 전달
+        }
+        if (page.getVersion() != null) {
+            response.eTag(etag);
+        }
+        return response.body(page.getBids());
     }
 }
@@ -0,0 +1,55 @@
+package com.example.usedauction.controller;
+
+// 문서 버전으로 만드는 strong ETag와 If-None-Match / If-Match 헤더 처리
+// 같은 URL의 응답 내용은 버전이 같으면 항상 같으므로 버전 숫자를 그대로 ETag로 사용 ("12")
+// 버전에 포함되지 않는 값(입찰자 닉네임 등)이 응답에 들어가는 목록은 weak ETag 사용 (W/"12-amount")
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return of(Long.toString(version));
+    }
+
+    // 내용이 바뀌지 않는 파일 등 버전 대신 고유한 값을 쓰는 경우
+    static String of(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    // 응답 내용이 바이트 단위로 같다고 보장할 수 없는 경우 (If-None-Match에서만 비교됨)
+    static String weak(String tag) {
+        return "W/" + of(tag);
+    }
+
+    // If-None-Match 헤더에 etag가 포함되어 있는지 확인 (여러 값, *, W/ 접두사 허용)
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = stripWeak(candidate.trim()); // If-None-Match는 약한 비교 사용
+            if (tag.equals("*") || tag.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    // If-Match 헤더의 ETag를 버전으로 변환 (헤더가 없거나 *이면 null, 형식이 잘못되었으면 IllegalArgumentException)
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match: " + ifMatch);
+        }
+        return Long.parseLong(tag.substring(1, tag.length() - 1)); // NumberFormatException도 IllegalArgumentException
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.usedauction.controller;
+
+import com.example.usedauction.model.ImageUrls;
+import com.example.usedauction.service.ImageStore;
+import com.example.usedauction.service.ThumbnailService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+// 이미지 저장소 업로드 API
+// 이미지 파일 조회(GET /api/images/{id}, /api/images/{id}/thumbnails/{size})는 ImageFileFilter가 컨트롤러를 거치지 않고 처리
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    // 상품 이미지 등을 이미지 저장소에 올리고 주소를 반환 (상품 등록 시 itemImages에 url을 사용하면 목록에 썸네일이 표시됨)
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping(consumes = {"multipart/form-data"})
+    public ResponseEntity<Map<String, Object>> uploadImage(@RequestPart("image") MultipartFile image) {
+        if (image.isEmpty()) {
+            return ResponseEntity.badRequest().build(); // 빈 파일이면 400 Bad Request 반환
+        }
+
+        String imageId;
+        try (InputStream in = image.getInputStream()) {
+            imageId = imageStore.store(in); // 스트림으로 저장 (파일 전체를 메모리에 올리지 않음)
+        } catch (IOException e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+        thumbnailService.submit(imageId); // 썸네일은 백그라운드에서 생성
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", imageId);
+        response.put("url", ImageUrls.image(imageId));
+        response.put("thumbnail", ImageUrls.thumbnail(imageId, ImageUrls.SMALL));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.usedauction.controller;
+
+import com.example.usedauction.model.ImageUrls;
+import com.example.usedauction.service.ImageStore;
+import com.example.usedauction.service.ThumbnailService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 이미지 저장소 파일 전송 필터: GET/HEAD /api/images/{id}, /api/images/{id}/thumbnails/{size}
+// 보안 필터와 DispatcherServlet을 거치지 않고 가장 먼저 처리 (공개 이미지이며 요청마다 만드는 객체를 줄이기 위함)
+// Tomcat에서는 파일 경로와 범위만 request 속성으로 넘기고 (sendfile), Tomcat이 요청 스레드를 돌려받은 뒤 FileChannel.transferTo로
+// 파일을 소켓에 바로 보냄 -> 파일 내용이 힙을 거치지 않고, 큰 이미지 전송이 상품/입찰 API의 요청 스레드를 잡고 있지 않음
+// sendfile을 쓸 수 없으면(TLS 등) FileChannel.transferTo로 응답 스트림에 직접 씀
+// 이미지 ID가 내용 해시이므로 ETag(strong)와 1년 immutable 캐시를 사용하고, 한 구간 Range 요청(206)과 If-Range, If-None-Match(304)를 처리
+// 썸네일이 아직 만들어지지 않았으면 생성을 요청하고 원본을 잠시 동안만 캐시되도록 보냄
+// (썸네일 대기열이 가득 차 요청이 버려져도 요청 스레드에서 만들지 않고 원본을 보냄)
+// 업로드(POST)는 ImageController가 처리
+public class ImageFileFilter extends OncePerRequestFilter {
+
+    private static final Pattern IMAGE_PATH = Pattern.compile("/api/images/([0-9a-f]{64})(?:/thumbnails/(\\d{1,4}))?");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String PENDING_THUMBNAIL = "public, max-age=60"; // 썸네일 대신 보내는 원본
+
+    // Tomcat sendfile request 속성
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStore imageStore;
+    private final ThumbnailService thumbnailService;
+
+    public ImageFileFilter(ImageStore imageStore, ThumbnailService thumbnailService) {
+        this.imageStore = imageStore;
+        this.thumbnailService = thumbnailService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Matcher matcher = IMAGE_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            chain.doFilter(request, response); // 이미지 파일 주소가 아니면 다음 필터로
+            return;
+        }
+
+        String imageId = matcher.group(1);
+        response.setHeader("Access-Control-Allow-Origin", "*"); // 공개 이미지이므로 모든 origin 허용
+        response.setHeader("Access-Control-Expose-Headers", "ETag, Content-Range");
+        if (matcher.group(2) == null) {
+            Optional<Path> file = imageStore.find(imageId);
+            if (file.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            send(request, response, file.get(), imageStore.contentType(file.get()), ETags.of(imageId), IMMUTABLE);
+            return;
+        }
+
+        int size = Integer.parseInt(matcher.group(2));
+        if (!ImageUrls.THUMBNAIL_SIZES.contains(size)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND); // 만들지 않는 크기
+            return;
+        }
+        Optional<Path> thumbnail = thumbnailService.findThumbnail(imageId, size);
+        if (thumbnail.isPresent()) {
+            send(request, response, thumbnail.get(), "image/jpeg", ETags.of(imageId + "-" + size), IMMUTABLE);
+            return;
+        }
+        Optional<Path> original = imageStore.find(imageId);
+        if (original.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        send(request, response, original.get(), imageStore.contentType(original.get()), null, PENDING_THUMBNAIL);
+    }
+
+    // 조건부 요청과 Range를 처리하여 파일 전체 또는 한 구간 전송 (etag가 null이면 조건부 요청 처리 안 함)
+    private static void send(HttpServletRequest request, HttpServletResponse response, Path file, String contentType,
+                             String etag, String cacheControl) throws IOException {
+        long fileLength = Files.size(file);
+        response.setHeader("Cache-Control", cacheControl);
+        response.setHeader("Accept-Ranges", "bytes");
+        if (etag != null) {
+            response.setHeader("ETag", etag);
+            if (ETags.matches(request.getHeader("If-None-Match"), etag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED); // 브라우저 캐시의 내용과 같음
+                return;
+            }
+        }
+
+        ByteRange range = null;
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null || ifRange.trim().equals(etag)) { // If-Range가 다른 버전을 가리키면 전체 전송
+            try {
+                range = ByteRange.parse(request.getHeader("Range"), fileLength);
+            } catch (IllegalArgumentException e) {
+                response.setHeader("Content-Range", "bytes */" + fileLength);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long start = range == null ? 0 : range.start();
+        long length = range == null ? fileLength : range.length();
+        response.setContentType(contentType);
+        response.setContentLengthLong(length);
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + range.start() + "-" + range.end() + "/" + fileLength);
+        }
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat이 응답 헤더를 보낸 뒤 poller 스레드에서 FileChannel.transferTo로 전송
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length); // 끝 위치는 포함하지 않음
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + length;
+            while (position < end) {
+                long written = channel.transferTo(position, end - position, out);
+                if (written <= 0) {
+                    break; // 전송 중 파일이 줄어든 경우 (저장소 파일은 바뀌지 않으므로 발생하지 않음)
+                }
+                position += written;
+            }
+        }
+    }
+
+    // Range 헤더의 한 구간 (start, end 모두 포함)
+    record ByteRange(long start, long end) {
+
+        long length() {
+            return end - start + 1;
+        }
+
+        // "bytes=a-b", "bytes=a-", "bytes=-n" 형식을 파일 길이에 맞춰 변환
+        // 헤더가 없거나, 단위가 다르거나, 여러 구간이면 null (전체 전송), 파일 범위를 벗어나면 IllegalArgumentException (416)
+        static ByteRange parse(String header, long fileLength) {
+            if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+                return null;
+            }
+            String spec = header.substring("bytes=".length()).trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            try {
+                long start;
+                long end;
+                if (dash == 0) { // 마지막 n바이트
+                    long suffix = Long.parseLong(spec.substring(1));
+                    if (suffix <= 0 || fileLength == 0) {
+                        throw new IllegalArgumentException("Unsatisfiable range: " + header);
+                    }
+                    start = Math.max(0, fileLength - suffix);
+                    end = fileLength - 1;
+                } else {
+                    start = Long.parseLong(spec.substring(0, dash));
+                    if (start >= fileLength) {
+                        throw new IllegalArgumentException("Unsatisfiable range: " + header);
+                    }
+                    end = dash == spec.length() - 1 ? fileLength - 1 : Long.parseLong(spec.substring(dash + 1));
+                    if (end < start) {
+                        return null; // 잘못된 형식은 무시하고 전체 전송
+                    }
+                    end = Math.min(end, fileLength - 1);
+                }
+                return new ByteRange(start, end);
+            } catch (NumberFormatException e) {
+                return null; // 잘못된 형식은 무시하고 전체 전송
+            }
+        }
+    }
+}
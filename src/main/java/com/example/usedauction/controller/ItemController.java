@@ -2,9 +2,21 @@ package com.example.usedauction.controller;
 
 import com.example.usedauction.model.Item; // Item 모델을 import
 import com.example.usedauction.model.User;
+import com.example.usedauction.repository.ItemSearchFilter; // 상품 검색 조건
+import com.example.usedauction.service.AuctionCloseScheduler;
 import com.example.usedauction.service.UserService;
+import com.example.usedauction.service.EndingSoonIndex; // 곧 끝나는 경매 목록 한 페이지
+import com.example.usedauction.service.EndingSoonService; // 곧 끝나는 경매 목록
+import com.example.usedauction.service.ItemLoadTimeoutException; // 같은 상품 조회 대기 시간 초과
 import com.example.usedauction.service.ItemService; // Item 서비스 클래스
+import com.example.usedauction.service.ItemService.ItemCard; // 상품 목록 카드
+import com.example.usedauction.service.ItemService.ItemCatalogPage; // 상품 목록 한 페이지
+import com.example.usedauction.service.ItemTextSearchService; // 키워드 검색 서비스
+import com.example.usedauction.service.ItemVersionConflictException; // 동시 수정 충돌
+import com.example.usedauction.service.TrendingService; // 지금 뜨는 상품 피드
+import com.example.usedauction.service.TrendingService.TrendingItem; // 피드 항목
 import org.springframework.beans.factory.annotation.Autowired; // @Autowired 어노테이션을 import
+import org.springframework.http.HttpHeaders; // ETag 관련 헤더 이름
 import org.springframework.http.HttpStatus; // HTTP 상태 코드를 import
 import org.springframework.http.ResponseEntity; // HTTP 응답을 처리하기 위한 클래스를 import
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,6 +38,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 @RestController // 이 클래스가 RESTful 웹 서비스의 컨트롤러임을 나타냄
 @RequestMapping("/api/items") // 이 컨트롤러의 기본 URL 경로를 설정
 public class ItemController {
+    public static final String QUERY_INDEX_HEADER = "X-Query-Index"; // 목록 조회에 사용된 인덱스 이름을 담는 응답 헤더
 
     @Autowired // 스프링이 ItemService의 인스턴스를 자동으로 주입
     private ItemService itemService;
@@ -33,15 +46,131 @@ public class ItemController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuctionCloseScheduler auctionCloseScheduler; // 서버 측 경매 마감 처리
+
+    @Autowired
+    private ItemTextSearchService itemTextSearchService; // 제목/설명 키워드 검색
+
+    @Autowired
+    private TrendingService trendingService; // 최근 조회/입찰이 많은 상품 피드
+
+    @Autowired
+    private EndingSoonService endingSoonService; // 곧 끝나는 경매 목록
+
     @GetMapping // HTTP GET 요청을 처리
     public List<Item> getAllItems() {
-        return itemService.getAllItems(); // 모든 아이템을 조회하여 반환
+        return itemService.getAllItems(); // 모든 아이템을 조회하여 반환 (이전 클라이언트 호환용, 목록 화면은 /catalog 사용)
+    }
+
+    // 상품 목록을 카드 필드(id, 제목, 첫 이미지, 현재가, 종료 시간, 지역)만 담아 최신 순으로 한 페이지씩 반환
+    // excludeClosed=true면 끝난 경매는 제외, 다음 페이지 cursor는 X-Next-Cursor 헤더로 전달
+    @GetMapping("/catalog")
+    public ResponseEntity<List<ItemCard>> getItemCatalog(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ItemService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean excludeClosed) {
+        ItemCatalogPage page;
+        try {
+            page = itemService.getItemCatalog(cursor, size, excludeClosed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 잘못된 cursor면 400 Bad Request 반환
+        }
+
+        return catalogResponse(page);
+    }
+
+    // 지역, 현재가 범위, 진행 상태(active/ended), 판매자 ID로 상품을 검색하여 최신 순으로 한 페이지씩 반환
+    // 응답 형식은 /catalog와 같고, 조회에 사용된 인덱스 이름을 X-Query-Index 헤더로 전달
+    @GetMapping("/search")
+    public ResponseEntity<List<ItemCard>> searchItems(
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sellerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ItemService.DEFAULT_PAGE_SIZE) int size) {
+        ItemCatalogPage page;
+        try {
+            ItemSearchFilter filter = new ItemSearchFilter();
+            filter.setRegion(region);
+            filter.setMinPrice(minPrice);
+            filter.setMaxPrice(maxPrice);
+            filter.setSellerId(sellerId);
+            if (status != null) {
+                filter.setStatus(ItemSearchFilter.Status.valueOf(status.toUpperCase()));
+            }
+            page = itemService.searchItems(filter, cursor, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 잘못된 상태 값이나 cursor면 400 Bad Request 반환
+        }
+        return catalogResponse(page);
+    }
+
+    // 제목과 설명에서 검색어를 찾아 관련도 순(제목에 있는 상품 우선, 같으면 최근 상품)으로 상품 카드를 반환
+    // 두 글자 이상이면 단어 중간도 찾고, 한 글자면 그 글자로 시작하는 단어를 찾음
+    @GetMapping("/text-search")
+    public ResponseEntity<List<ItemCard>> searchItemsByKeyword(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "" + ItemTextSearchService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(itemTextSearchService.search(query, limit));
+    }
+
+    // 최근 조회와 입찰이 많은 진행 중인 상품을 점수 순으로 반환 (미리 계산된 순위, 데이터베이스 조회 없음)
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingItem>> getTrendingItems(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(trendingService.getTrending(limit));
+    }
+
+    // 진행 중인 경매를 종료 시간이 가까운 순으로 카드 필드만 담아 한 페이지씩 반환 (메모리 색인, 데이터베이스 조회 없음)
+    // region이 있으면 그 지역만, 다음 페이지 cursor는 X-Next-Cursor 헤더로 전달
+    @GetMapping("/ending-soon")
+    public ResponseEntity<List<ItemCard>> getEndingSoonItems(
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ItemService.DEFAULT_PAGE_SIZE) int size) {
+        EndingSoonIndex.Page page;
+        try {
+            page = endingSoonService.getEndingSoon(region, cursor, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 잘못된 cursor면 400 Bad Request 반환
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(BidController.NEXT_CURSOR_HEADER, page.nextCursor()); // 다음 페이지가 있을 때만 cursor 전달
+        }
+        return response.body(page.items());
+    }
+
+    // 상품 목록 한 페이지 응답 (다음 페이지 cursor와 사용된 인덱스는 헤더로 전달)
+    private static ResponseEntity<List<ItemCard>> catalogResponse(ItemCatalogPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(BidController.NEXT_CURSOR_HEADER, page.getNextCursor()); // 다음 페이지가 있을 때만 cursor 전달
+        }
+        response.header(QUERY_INDEX_HEADER, page.getQueryIndex());
+        return response.body(page.getItems());
     }
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/{id}") // HTTP GET 요청을 처리하며 경로 변수로 아이템 ID를 받음
-    public ResponseEntity<Item> getItemById(@PathVariable String id) {
-        Optional<Item> item = itemService.getItemById(id); // 특정 아이템 ID로 아이템을 조회
-        return item.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build()); // 아이템이 존재하면 반환, 없으면 404 상태 반환
+    public ResponseEntity<Item> getItemById(@PathVariable String id,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            Optional<Item> item = itemService.getItemById(id); // 특정 아이템 ID로 아이템을 조회
+            if (item.isEmpty()) {
+                return ResponseEntity.notFound().build(); // 아이템이 없으면 404 상태 반환
+            }
+            trendingService.recordView(id); // 지금 뜨는 상품 순위에 조회 반영
+            String etag = ETags.of(item.get().getVersion()); // 상품 버전이 같으면 응답 내용도 같음
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build(); // 클라이언트가 가진 내용 그대로 사용
+            }
+            return ResponseEntity.ok().eTag(etag).body(item.get());
+        } catch (ItemLoadTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build(); // 먼저 들어온 같은 상품 조회가 끝나지 않음
+        }
     }
 
     // 새로운 아이템을 추가하는 HTTP POST 요청을 처리 (multipart/form-data 형식으로 데이터 받음)
@@ -107,11 +236,12 @@ public class ItemController {
 
 
     // 경매 우승자를 업데이트하는 HTTP PUT 요청을 처리
+    // 낙찰자와 최종 가격은 서버가 최고 입찰을 기준으로 결정하며, 요청 본문의 값은 사용하지 않음
     @PreAuthorize("isAuthenticated()")
     @PutMapping("/{itemId}/winningBid")
-    public ResponseEntity<Void> updateWinner(
+    public ResponseEntity<Item> updateWinner(
             @PathVariable String itemId, // 경로 변수로 아이템 ID를 받음
-            @RequestBody Map<String, Object> updates) { // 요청 본문에서 업데이트할 데이터를 받음
+            @RequestBody(required = false) Map<String, Object> updates) { // 이전 클라이언트 호환을 위해 본문은 받기만 함
 
         // 인증된 사용자의 정보를 가져오기
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -125,10 +255,20 @@ public class ItemController {
 
         System.out.println("Authenticated user's email: " + email);
 
-        int lastPrice = (int) updates.get("lastPrice");  // 마지막 입찰가를 추출
-        String winnerId = (String) updates.get("winnerId"); // 우승자 ID를 추출
-        itemService.updateWinner(itemId, winnerId, lastPrice); // 우승자 정보 업데이트
-        return ResponseEntity.ok().build(); // 200 OK 상태 반환
+        // 종료 시간이 지난 경매를 서버에서 마감 처리 (타이머보다 먼저 호출된 경우)
+        Optional<Item> closedItem = auctionCloseScheduler.closeAuction(itemId);
+        if (closedItem.isPresent()) {
+            return ResponseEntity.ok(closedItem.get()); // 마감된 아이템을 200 OK와 함께 반환
+        }
+
+        Optional<Item> item = itemService.getItemById(itemId);
+        if (item.isEmpty()) {
+            return ResponseEntity.notFound().build(); // 아이템이 없으면 404 Not Found 반환
+        }
+        if (item.get().isClosed()) {
+            return ResponseEntity.ok(item.get()); // 이미 마감된 경매면 마감 결과를 그대로 반환
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).build(); // 아직 진행 중인 경매면 409 Conflict 반환
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -154,6 +294,7 @@ public class ItemController {
     @PutMapping("/{id}")
     public ResponseEntity<String> updateItem(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, // 클라이언트가 본 상품의 ETag (있으면 같은 버전일 때만 수정)
             @RequestBody Map<String, String> payload) {  // 요청 본문에서 업데이트할 데이터를 받음
 
         // 인증된 사용자의 정보를 가져오기
@@ -172,8 +313,12 @@ public class ItemController {
             String title = payload.get("title");  // 제목을 추출
             String description = payload.get("description"); // 설명을 추출
             String region = payload.get("region"); // 지역을 추출
-            itemService.updateItem(id, title, description, region); // 아이템 정보 업데이트
-            return new ResponseEntity<>("success", HttpStatus.OK);
+            Item updated = itemService.updateItem(id, title, description, region, ETags.parseVersion(ifMatch)); // 아이템 정보 업데이트
+            return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body("success");
+        } catch (ItemVersionConflictException e) {
+            return new ResponseEntity<>("fail: " + e.getMessage(), HttpStatus.PRECONDITION_FAILED); // 그 사이 상품이 바뀜
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>("fail: " + e.getMessage(), HttpStatus.BAD_REQUEST); // 잘못된 If-Match 형식
         } catch (Exception e) {
             e.printStackTrace(); // 예외 스택 추적 출력
             return new ResponseEntity<>("fail: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -187,6 +332,8 @@ public class ItemController {
         try {
             int currentPrice = itemService.getCurrentPrice(id); // 현재 가격 조회
             return ResponseEntity.ok(currentPrice); // 현재 가격을 200 OK와 함께 반환
+        } catch (ItemLoadTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build(); // 먼저 들어온 같은 상품 조회가 끝나지 않음
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build(); // 아이템이 없으면 404 Not Found 반환
         }
@@ -198,6 +345,8 @@ public class ItemController {
         try {
             Duration remainingTime = itemService.getRemainingTime(id); // 남은 시간 계산
             return ResponseEntity.ok(remainingTime.toMinutes()); // 남은 시간을 분 단위로 반환
+        } catch (ItemLoadTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build(); // 먼저 들어온 같은 상품 조회가 끝나지 않음
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();  // 아이템이 없으면 404 Not Found 반환
         }
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 @RestController
@@ -75,12 +76,14 @@ public class UserController {
             System.out.println("프로필 이미지 없음");
         }
 
+        user.setProfileImageId(null); // 이미지 ID는 업로드된 파일로만 설정
         if (profileImage != null && !profileImage.isEmpty()) {
-            try {
-                String base64Image = Base64.getEncoder().encodeToString(profileImage.getBytes());
-                user.setProfileImage(base64Image);
-                System.out.println("Profile Image Set: " + base64Image);
+            // 업로드 파일을 스트림으로 이미지 저장소에 쓰고, 사용자 문서에는 이미지 ID만 저장
+            try (InputStream image = profileImage.getInputStream()) {
+                user.setProfileImageId(userService.storeProfileImage(image));
+                System.out.println("Profile Image Set: " + user.getProfileImageId());
             } catch (IOException e) {
+                e.printStackTrace();
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
         }
@@ -2,10 +2,19 @@ package com.example.usedauction.model;
 
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.Date;
 
 @Document(collection = "bids")
+@CompoundIndexes({
+        // 상품별 입찰 기록을 금액 순(같으면 먼저 입찰한 순)으로 페이지 조회할 때 사용
+        @CompoundIndex(name = "itemId_bidAmount_bidTime", def = "{'itemId': 1, 'bidAmount': -1, 'bidTime': 1, '_id': 1}"),
+        // 상품별 입찰 기록을 최신 순으로 페이지 조회할 때 사용
+        @CompoundIndex(name = "itemId_bidTime", def = "{'itemId': 1, 'bidTime': -1, '_id': -1}")
+})
 public class Bid {
     @Id
     private String id;
@@ -13,6 +22,9 @@ public class Bid {
     private String bidderId;
     private int bidAmount;
     private Date bidTime;
+    @Indexed(unique = true, sparse = true) // 같은 요청의 재전송으로 입찰이 두 번 저장되지 않도록 함 (키 없는 입찰은 제외)
+    private String idempotencyKey; // 입찰자 ID + ":" + 클라이언트가 보낸 Idempotency-Key
+    private boolean proxy; // 자동 입찰(ProxyBidService)이 대신 넣은 입찰인지 여부
 
     public String getId() {return id;}
 
@@ -33,4 +45,12 @@ public class Bid {
     public Date getBidTime() {return bidTime;}
 
     public void setBidTime(Date bidTime) {this.bidTime = bidTime;}
+
+    public String getIdempotencyKey() {return idempotencyKey;}
+
+    public void setIdempotencyKey(String idempotencyKey) {this.idempotencyKey = idempotencyKey;}
+
+    public boolean isProxy() {return proxy;}
+
+    public void setProxy(boolean proxy) {this.proxy = proxy;}
 }
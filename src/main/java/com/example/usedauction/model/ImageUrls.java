@@ -0,0 +1,36 @@
+package com.example.usedauction.model;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 이미지 저장소에 있는 이미지와 썸네일의 주소 형식
+// 상품 이미지(itemImages)는 주소 문자열로 저장되므로, 이미지 저장소 주소인 경우에만 썸네일 주소를 만들 수 있음
+public final class ImageUrls {
+
+    public static final int SMALL = 160; // 목록 카드, 프로필용 썸네일 (긴 변 픽셀)
+    public static final int LARGE = 480; // 상세 화면용 썸네일 (긴 변 픽셀)
+    public static final List<Integer> THUMBNAIL_SIZES = List.of(SMALL, LARGE); // 생성하는 썸네일 크기
+
+    private static final Pattern STORED_IMAGE = Pattern.compile("(?:.*/)?api/images/([0-9a-f]{64})"); // 이미지 저장소 주소
+
+    private ImageUrls() {
+    }
+
+    public static String image(String imageId) {
+        return "/api/images/" + imageId;
+    }
+
+    public static String thumbnail(String imageId, int size) {
+        return "/api/images/" + imageId + "/thumbnails/" + size;
+    }
+
+    // 이미지 저장소 주소면 그 이미지의 썸네일 주소, 외부 주소이거나 null이면 null
+    public static String thumbnailOf(String url, int size) {
+        if (url == null) {
+            return null;
+        }
+        Matcher matcher = STORED_IMAGE.matcher(url);
+        return matcher.matches() ? thumbnail(matcher.group(1), size) : null;
+    }
+}
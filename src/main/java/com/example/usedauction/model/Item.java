@@ -1,11 +1,24 @@
 package com.example.usedauction.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 import java.util.List; // List 사용을 위해 임포트
 
 @Document(collection = "items")
+@CompoundIndexes({
+        // 마감되지 않은 상품 목록을 최신 순(_id 내림차순)으로 페이지 조회할 때 사용
+        @CompoundIndex(name = "closed_id", def = "{'closed': 1, '_id': -1}"),
+        // 지역별 / 판매자별 검색: 같음 조건(지역, 판매자) -> 정렬(_id) -> 범위 조건(가격, 종료 시간) 순서
+        // 범위 조건 필드가 인덱스에 있어 문서를 읽기 전에 인덱스 키로 걸러냄
+        // (가격 조건은 입찰 횟수에 따라 시작 가격 또는 최고가를 보므로 bidCount, price, lastPrice 모두 포함)
+        @CompoundIndex(name = "region_id_bidCount_price_lastPrice_endDateTime",
+                def = "{'region': 1, '_id': -1, 'bidCount': 1, 'price': 1, 'lastPrice': 1, 'endDateTime': 1}"),
+        @CompoundIndex(name = "userId_id_bidCount_price_lastPrice_endDateTime",
+                def = "{'userId': 1, '_id': -1, 'bidCount': 1, 'price': 1, 'lastPrice': 1, 'endDateTime': 1}")
+})
 public class Item {
     @Id
     private String id;
@@ -18,6 +31,9 @@ public class Item {
     private String userId;
     private String winnerId;
     private int lastPrice;
+    private int bidCount; // 성공한 입찰 횟수
+    private boolean closed; // 서버에서 경매 마감 처리가 끝났는지 여부
+    private long version; // 문서 버전 (상품이 바뀔 때마다 1 증가, ETag와 조건부 수정에 사용, 필드가 없는 이전 문서는 0)
     private String region;
 
     // Getters and setters
@@ -102,6 +118,30 @@ public class Item {
         this.lastPrice = lastPrice;
     }
 
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    public void setBidCount(int bidCount) {
+        this.bidCount = bidCount;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void setClosed(boolean closed) {
+        this.closed = closed;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getRegion() {
         return region;
     }
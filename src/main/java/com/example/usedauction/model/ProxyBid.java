@@ -0,0 +1,39 @@
+package com.example.usedauction.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+// 자동 입찰 등록 정보 (입찰자가 지정한 최대 금액까지 서버가 대신 입찰)
+@Document(collection = "proxyBids")
+@CompoundIndex(name = "itemId_bidderId", def = "{'itemId': 1, 'bidderId': 1}", unique = true) // 상품당 입찰자별로 하나만 등록
+public class ProxyBid {
+    @Id
+    private String id;
+    private String itemId;
+    private String bidderId;
+    private int maxAmount; // 자동 입찰 최대 금액
+    private Date createdAt; // 최초 등록 시간 (최대 금액이 같으면 먼저 등록한 입찰자가 우선)
+
+    public String getId() {return id;}
+
+    public void setId(String id) {this.id = id;}
+
+    public String getItemId() {return itemId;}
+
+    public void setItemId(String itemId) {this.itemId = itemId;}
+
+    public String getBidderId() {return bidderId;}
+
+    public void setBidderId(String bidderId) {this.bidderId = bidderId;}
+
+    public int getMaxAmount() {return maxAmount;}
+
+    public void setMaxAmount(int maxAmount) {this.maxAmount = maxAmount;}
+
+    public Date getCreatedAt() {return createdAt;}
+
+    public void setCreatedAt(Date createdAt) {this.createdAt = createdAt;}
+}
@@ -1,6 +1,8 @@
 package com.example.usedauction.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "users")
@@ -13,21 +15,21 @@ public class User {
     private String email;
     private String location;
     private int age;
-    private String profileImage; // 프로필 이미지 필드 추가
+    private String profileImageId; // 프로필 이미지 ID (이미지 저장소의 내용 해시, 이미지는 /api/images/{id}로 조회)
 
     // Default constructor
     public User() {
     }
 
     // Parameterized constructor
-    public User(String username, String password, String nickname, String email, String location, int age,String profileImage) {
+    public User(String username, String password, String nickname, String email, String location, int age,String profileImageId) {
         this.username = username;
         this.password = password;
         this.nickname = nickname;
         this.email = email;
         this.location = location;
         this.age = age;
-        this.profileImage = profileImage;
+        this.profileImageId = profileImageId;
     }
 
     // Getters and Setters
@@ -87,12 +89,19 @@ public class User {
         this.age = age;
     }
 
-    public String getProfileImage() {
-        return profileImage;
+    public String getProfileImageId() {
+        return profileImageId;
     }
 
-    public void setProfileImage(String profileImage) {
-        this.profileImage = profileImage;
+    public void setProfileImageId(String profileImageId) {
+        this.profileImageId = profileImageId;
+    }
+
+    // 목록 화면용 프로필 썸네일 주소 (응답에만 포함되고 저장하지 않음)
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getProfileThumbnail() {
+        return profileImageId == null ? null : ImageUrls.thumbnail(profileImageId, ImageUrls.SMALL);
     }
 
     public User(String username, String nickname, String email) {
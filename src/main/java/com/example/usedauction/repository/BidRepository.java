@@ -5,9 +5,19 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BidRepository extends MongoRepository<Bid, String> {
+public interface BidRepository extends MongoRepository<Bid, String>, BidRepositoryCustom {
 
     List<Bid> findByItemId(String itemId);
+
+    // 상품의 저장된 입찰 기록 수 (itemId로 시작하는 인덱스만 읽음)
+    long countByItemId(String itemId);
+
+    // 상품의 최고 입찰 (금액이 같으면 먼저 입찰한 기록)
+    Optional<Bid> findFirstByItemIdOrderByBidAmountDescBidTimeAsc(String itemId);
+
+    // 같은 Idempotency-Key로 이미 저장된 입찰 (서버 재시작 후 재전송된 요청 확인용)
+    Optional<Bid> findByIdempotencyKey(String idempotencyKey);
 }
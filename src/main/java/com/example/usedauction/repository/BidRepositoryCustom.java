@@ -0,0 +1,19 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.Bid;
+
+import java.util.List;
+
+// MongoTemplate으로 직접 구현하는 Bid 조회 메서드 모음
+public interface BidRepositoryCustom {
+
+    // 입찰 기록 정렬 기준
+    enum BidOrder {
+        AMOUNT, // 금액 높은 순 (같으면 먼저 입찰한 순)
+        TIME // 최신 순
+    }
+
+    // 상품의 입찰 기록을 키셋 방식으로 한 페이지 조회 (after 다음부터 limit개, after가 null이면 첫 페이지)
+    // after에는 이전 페이지 마지막 입찰의 id, bidAmount, bidTime만 있으면 됨
+    List<Bid> findPageByItemId(String itemId, BidOrder order, Bid after, int limit);
+}
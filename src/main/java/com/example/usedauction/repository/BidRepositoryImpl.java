@@ -0,0 +1,50 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.Bid;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+// BidRepositoryCustom 구현체 (Spring Data가 BidRepository에 자동으로 합쳐줌)
+public class BidRepositoryImpl implements BidRepositoryCustom {
+
+    private static final Sort AMOUNT_ORDER = Sort.by(Sort.Order.desc("bidAmount"), Sort.Order.asc("bidTime"), Sort.Order.asc("_id"));
+    private static final Sort TIME_ORDER = Sort.by(Sort.Order.desc("bidTime"), Sort.Order.desc("_id"));
+
+    private final MongoTemplate mongoTemplate;
+
+    public BidRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Bid> findPageByItemId(String itemId, BidOrder order, Bid after, int limit) {
+        Criteria criteria = Criteria.where("itemId").is(itemId);
+        if (after != null) {
+            Object afterId = ObjectId.isValid(after.getId()) ? new ObjectId(after.getId()) : after.getId();
+            if (order == BidOrder.AMOUNT) {
+                // (bidAmount, bidTime, _id)가 이전 페이지 마지막 입찰보다 뒤인 기록
+                criteria.and("bidAmount").lte(after.getBidAmount()).orOperator(
+                        Criteria.where("bidAmount").lt(after.getBidAmount()),
+                        Criteria.where("bidAmount").is(after.getBidAmount()).and("bidTime").gt(after.getBidTime()),
+                        Criteria.where("bidAmount").is(after.getBidAmount()).and("bidTime").is(after.getBidTime())
+                                .and("_id").gt(afterId));
+            } else {
+                // (bidTime, _id)가 이전 페이지 마지막 입찰보다 앞선(오래된) 기록
+                criteria.and("bidTime").lte(after.getBidTime()).orOperator(
+                        Criteria.where("bidTime").lt(after.getBidTime()),
+                        Criteria.where("bidTime").is(after.getBidTime()).and("_id").lt(afterId));
+            }
+        }
+
+        // 복합 인덱스 순서와 같은 정렬을 사용하므로 인덱스 범위만 읽고 limit개에서 멈춤
+        Query query = new Query(criteria)
+                .with(order == BidOrder.AMOUNT ? AMOUNT_ORDER : TIME_ORDER)
+                .limit(limit);
+        return mongoTemplate.find(query, Bid.class);
+    }
+}
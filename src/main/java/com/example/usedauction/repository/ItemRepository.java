@@ -2,8 +2,20 @@ package com.example.usedauction.repository;
 
 import com.example.usedauction.model.Item;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ItemRepository extends MongoRepository<Item, String> {
-}
\ No newline at end of file
+public interface ItemRepository extends MongoRepository<Item, String>, ItemRepositoryCustom {
+
+    // 아직 마감 처리되지 않은 경매의 ID와 종료 시간만 조회 (서버 재시작 시 마감 스케줄 복구용)
+    @Query(value = "{ 'closed': { $ne: true }, 'endDateTime': { $ne: null } }", fields = "{ 'endDateTime': 1 }")
+    List<Item> findOpenAuctionDeadlines();
+
+    // 상품의 입찰 횟수만 조회
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'bidCount': 1 }")
+    Optional<Item> findBidCountById(String id);
+}
@@ -0,0 +1,51 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// MongoTemplate으로 직접 구현하는 Item 조건부 업데이트 메서드 모음
+public interface ItemRepositoryCustom {
+
+    // 아래의 모든 수정 메서드는 상품 버전(version)을 1 증가시킴
+
+    // 경매가 진행 중이고 입찰 금액이 (현재 최고가 + 입찰 단위) 이상일 때만 현재 최고가를 갱신하고 입찰 횟수를 증가
+    // 조건 확인과 갱신을 한 번의 요청으로 처리하며, 갱신 전 상품(lastPrice, bidCount만 포함)을 반환
+    // (갱신 후 값은 lastPrice = bidAmount, bidCount = 갱신 전 bidCount + 1)
+    // 조건을 만족하지 않으면 빈 Optional 반환
+    Optional<Item> raiseLastPrice(String itemId, int bidAmount, LocalDateTime now);
+
+    // 입찰 기록 저장에 실패한 raiseLastPrice를 되돌림
+    // 그 뒤로 다른 입찰이 없으면(lastPrice, bidCount가 올린 값 그대로면) 최고가를 previousPrice로 되돌리고 입찰 횟수를 1 줄임
+    // 다른 입찰이 이미 더 높은 금액으로 최고가를 바꿨으면 그 금액은 유지하고 입찰 횟수만 1 줄임
+    void revertLastPrice(String itemId, int raisedPrice, int raisedBidCount, int previousPrice);
+
+    // 종료 시간이 지났고 아직 마감되지 않은 경매를 마감 처리 (낙찰자와 최종 가격을 함께 설정)
+    // 입찰이 없으면 winnerId와 finalPrice는 null이며 현재 가격을 유지함
+    // 마감된 상품을 반환하고, 조건을 만족하지 않으면 빈 Optional 반환
+    Optional<Item> closeAuction(String itemId, String winnerId, Integer finalPrice, LocalDateTime now);
+
+    // 제목, 설명, 지역만 바꾸고 바뀐 상품을 반환 (id, 제목, 설명, 지역, 현재가, 첫 번째 이미지, 종료 시간, 마감 여부, 버전만 포함)
+    // expectedVersion이 있으면 버전이 같을 때만 바꾸며, 상품이 없거나 버전이 다르면 빈 Optional 반환
+    Optional<Item> updateDetails(String itemId, String title, String description, String region, Long expectedVersion);
+
+    // 조건에 맞는 상품 목록 한 페이지를 최신 순(_id 내림차순)으로 조회 (카드에 필요한 필드와 첫 번째 이미지만 포함)
+    // afterId는 이전 페이지 마지막 상품의 ID이며 null이면 첫 페이지
+    List<Item> findCardPage(ItemSearchFilter filter, String afterId, LocalDateTime now, int limit);
+
+    // findCardPage와 같은 쿼리에 대해 쿼리 플래너가 선택한 인덱스 이름을 반환 (인덱스를 쓰지 않으면 "COLLSCAN")
+    String explainCardPage(ItemSearchFilter filter, String afterId, LocalDateTime now, int limit);
+
+    // 상품 ID 목록에 해당하는 상품을 카드 필드만 담아 조회 (순서는 보장하지 않음)
+    List<Item> findCardsByIds(Collection<String> ids);
+
+    // 검색 색인을 다시 만들기 위해 모든 상품의 제목과 설명을 _id 순서로 하나씩 읽음 (사용 후 close 필요)
+    Stream<Item> streamTextFields();
+
+    // 진행 중인(마감되지 않았고 종료 시간 전인) 경매를 카드 필드만 담아 하나씩 읽음 (사용 후 close 필요)
+    Stream<Item> streamOpenAuctionCards(LocalDateTime now);
+}
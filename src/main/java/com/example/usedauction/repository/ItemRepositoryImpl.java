@@ -0,0 +1,193 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.Item;
+import com.mongodb.ExplainVerbosity;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// ItemRepositoryCustom 구현체 (Spring Data가 ItemRepository에 자동으로 합쳐줌)
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private static final Pattern INDEX_NAME = Pattern.compile("\"indexName\": \"([^\"]+)\"");
+
+    private final MongoTemplate mongoTemplate;
+
+    public ItemRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<Item> raiseLastPrice(String itemId, int bidAmount, LocalDateTime now) {
+        Query query = new Query(Criteria.where("_id").is(itemId)
+                .and("endDateTime").gt(now)); // 아직 마감되지 않은 경매만 대상
+        // lastPrice + bidUnit <= bidAmount 조건을 서버(Mongo)에서 평가
+        query.addCriteria(Criteria.expr(
+                ComparisonOperators.valueOf(ArithmeticOperators.Add.valueOf("lastPrice").add("bidUnit"))
+                        .lessThanEqualToValue(bidAmount)));
+
+        query.fields().include("lastPrice").include("bidCount"); // 갱신 결과로 필요한 필드만 반환
+
+        Update update = new Update().set("lastPrice", bidAmount).inc("bidCount", 1).inc("version", 1);
+        Item previous = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), Item.class);
+        return Optional.ofNullable(previous); // 조건에 맞는 문서가 없었으면 입찰 실패
+    }
+
+    @Override
+    public void revertLastPrice(String itemId, int raisedPrice, int raisedBidCount, int previousPrice) {
+        Query unchanged = new Query(Criteria.where("_id").is(itemId)
+                .and("lastPrice").is(raisedPrice)
+                .and("bidCount").is(raisedBidCount)); // 올린 뒤로 다른 입찰이 없었던 경우
+        Update revert = new Update().set("lastPrice", previousPrice).inc("bidCount", -1).inc("version", 1);
+        if (mongoTemplate.updateFirst(unchanged, revert, Item.class).getMatchedCount() > 0) {
+            return;
+        }
+        // 이후 입찰이 최고가를 더 올렸으므로 (금액은 항상 증가) 그 금액은 유지하고 실패한 입찰의 횟수만 제외
+        Query raised = new Query(Criteria.where("_id").is(itemId).and("bidCount").gte(raisedBidCount));
+        mongoTemplate.updateFirst(raised, new Update().inc("bidCount", -1).inc("version", 1), Item.class);
+    }
+
+    @Override
+    public Optional<Item> closeAuction(String itemId, String winnerId, Integer finalPrice, LocalDateTime now) {
+        Query query = new Query(Criteria.where("_id").is(itemId)
+                .and("closed").ne(true)
+                .and("endDateTime").lte(now)); // 종료 시간이 지난 경매만 마감
+
+        Update update = new Update().set("closed", true).set("winnerId", winnerId).inc("version", 1);
+        if (finalPrice != null) {
+            update.set("lastPrice", finalPrice);
+        }
+        Item closed = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Item.class);
+        return Optional.ofNullable(closed);
+    }
+
+    @Override
+    public Optional<Item> updateDetails(String itemId, String title, String description, String region, Long expectedVersion) {
+        Query query = new Query(Criteria.where("_id").is(itemId));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where("version").in(versionValues(expectedVersion)));
+        }
+        query.fields().include("title", "description", "region", "lastPrice", "endDateTime", "closed", "version")
+                .slice("itemImages", 1); // 곧 끝나는 경매 카드에 필요한 첫 번째 이미지
+
+        Update update = new Update().set("title", title).set("description", description).set("region", region)
+                .inc("version", 1);
+        Item updated = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Item.class);
+        return Optional.ofNullable(updated);
+    }
+
+    // 버전 0은 version 필드가 없는 이전 문서도 포함
+    private static Object[] versionValues(long version) {
+        return version == 0 ? new Object[]{0L, null} : new Object[]{version};
+    }
+
+    @Override
+    public List<Item> findCardPage(ItemSearchFilter filter, String afterId, LocalDateTime now, int limit) {
+        return mongoTemplate.find(cardPageQuery(filter, afterId, now, limit), Item.class);
+    }
+
+    @Override
+    public String explainCardPage(ItemSearchFilter filter, String afterId, LocalDateTime now, int limit) {
+        Query query = cardPageQuery(filter, afterId, now, limit);
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Item.class))
+                .find(query.getQueryObject())
+                .projection(query.getFieldsObject())
+                .sort(query.getSortObject())
+                .limit(limit)
+                .explain(ExplainVerbosity.QUERY_PLANNER);
+
+        // 선택된 계획(winningPlan)에서 IXSCAN 단계의 인덱스 이름을 찾음
+        Document planner = explain.get("queryPlanner", Document.class);
+        Object winningPlan = planner != null ? planner.get("winningPlan") : null;
+        Matcher matcher = INDEX_NAME.matcher(winningPlan instanceof Document plan ? plan.toJson() : String.valueOf(winningPlan));
+        return matcher.find() ? matcher.group(1) : "COLLSCAN";
+    }
+
+    @Override
+    public List<Item> findCardsByIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        includeCardFields(query);
+        return mongoTemplate.find(query, Item.class);
+    }
+
+    @Override
+    public Stream<Item> streamTextFields() {
+        Query query = new Query().with(Sort.by(Sort.Order.asc("_id")));
+        query.fields().include("title", "description");
+        query.cursorBatchSize(1_000);
+        return mongoTemplate.stream(query, Item.class);
+    }
+
+    @Override
+    public Stream<Item> streamOpenAuctionCards(LocalDateTime now) {
+        Query query = new Query(Criteria.where("closed").in(Arrays.asList(false, null)).and("endDateTime").gt(now));
+        includeCardFields(query);
+        query.cursorBatchSize(1_000);
+        return mongoTemplate.stream(query, Item.class);
+    }
+
+    private static Query cardPageQuery(ItemSearchFilter filter, String afterId, LocalDateTime now, int limit) {
+        Criteria criteria = new Criteria();
+        if (filter.getRegion() != null) {
+            criteria.and("region").is(filter.getRegion());
+        }
+        if (filter.getSellerId() != null) {
+            criteria.and("userId").is(filter.getSellerId());
+        }
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            // 현재 가격: 입찰이 없으면 시작 가격(price), 있으면 최고가(lastPrice) (등록 시 lastPrice는 0)
+            Criteria notBid = Criteria.where("bidCount").in(Arrays.asList(0, null)); // 필드가 없는 이전 문서 포함
+            Criteria bid = Criteria.where("bidCount").gt(0);
+            priceRange(notBid.and("price"), filter);
+            priceRange(bid.and("lastPrice"), filter);
+            criteria.orOperator(notBid, bid);
+        }
+        if (filter.getStatus() == ItemSearchFilter.Status.ACTIVE) {
+            // $ne 대신 $in으로 조회해야 closed_id 인덱스의 두 구간(false, 필드 없음)을 _id 순서대로 합쳐 읽음 (정렬 단계 없음)
+            criteria.and("closed").in(Arrays.asList(false, null))
+                    .and("endDateTime").gt(now); // 종료 시간이 지났지만 아직 마감 처리 전인 경매도 제외
+        } else if (filter.getStatus() == ItemSearchFilter.Status.ENDED) {
+            criteria.and("endDateTime").lte(now);
+        }
+        if (afterId != null) {
+            criteria.and("_id").lt(ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId);
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Order.desc("_id")))
+                .limit(limit);
+        includeCardFields(query);
+        return query;
+    }
+
+    private static void priceRange(Criteria price, ItemSearchFilter filter) {
+        if (filter.getMinPrice() != null) {
+            price.gte(filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            price.lte(filter.getMaxPrice());
+        }
+    }
+
+    // 상품 카드에 필요한 필드만 읽도록 projection 설정
+    private static void includeCardFields(Query query) {
+        query.fields().include("title", "lastPrice", "endDateTime", "region")
+                .slice("itemImages", 1); // 이미지는 첫 번째 것만
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.usedauction.repository;
+
+// 상품 목록/검색 조건 (값이 null인 조건은 적용하지 않음)
+public class ItemSearchFilter {
+
+    // 경매 진행 상태
+    public enum Status {
+        ACTIVE, // 종료 시간 전이고 마감 처리되지 않은 경매
+        ENDED // 종료 시간이 지난 경매
+    }
+
+    private String region; // 지역
+    private String sellerId; // 판매자(상품 등록자) ID
+    private Integer minPrice; // 현재 최고가(lastPrice) 최소값
+    private Integer maxPrice; // 현재 최고가(lastPrice) 최대값
+    private Status status; // 진행 상태
+
+    public String getRegion() {return region;}
+
+    public void setRegion(String region) {this.region = region;}
+
+    public String getSellerId() {return sellerId;}
+
+    public void setSellerId(String sellerId) {this.sellerId = sellerId;}
+
+    public Integer getMinPrice() {return minPrice;}
+
+    public void setMinPrice(Integer minPrice) {this.minPrice = minPrice;}
+
+    public Integer getMaxPrice() {return maxPrice;}
+
+    public void setMaxPrice(Integer maxPrice) {this.maxPrice = maxPrice;}
+
+    public Status getStatus() {return status;}
+
+    public void setStatus(Status status) {this.status = status;}
+
+    // 어떤 조건이 쓰였는지만 나타내는 문자열 (값이 달라도 같은 모양의 쿼리는 같은 인덱스를 사용)
+    public String shape() {
+        return (region != null ? "region," : "")
+                + (sellerId != null ? "seller," : "")
+                + (minPrice != null ? "min," : "")
+                + (maxPrice != null ? "max," : "")
+                + (status != null ? status.name() : "ALL");
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.usedauction.repository;
+
+// 이전 방식으로 사용자 문서에 base64 문자열로 저장된 프로필 이미지
+public record LegacyProfileImage(String userId, String base64) {
+}
@@ -0,0 +1,15 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.ProxyBid;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProxyBidRepository extends MongoRepository<ProxyBid, String> {
+
+    Optional<ProxyBid> findByItemIdAndBidderId(String itemId, String bidderId);
+
+    void deleteByItemId(String itemId);
+}
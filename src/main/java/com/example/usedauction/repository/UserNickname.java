@@ -0,0 +1,8 @@
+package com.example.usedauction.repository;
+
+// 사용자 ID와 닉네임만 조회하기 위한 projection (프로필 이미지 등 나머지 필드는 읽지 않음)
+public interface UserNickname {
+    String getId();
+
+    String getNickname();
+}
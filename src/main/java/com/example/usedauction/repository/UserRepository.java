@@ -4,9 +4,14 @@ import com.example.usedauction.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
+
+    // 여러 사용자의 닉네임을 한 번에 조회 (id, nickname 필드만 읽음)
+    List<UserNickname> findByIdIn(Collection<String> ids);
 }
\ No newline at end of file
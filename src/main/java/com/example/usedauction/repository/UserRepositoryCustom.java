@@ -0,0 +1,21 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.User;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// MongoTemplate으로 직접 구현하는 User 부분 수정 메서드 모음
+public interface UserRepositoryCustom {
+
+    // 주어진 필드만 $set으로 바꾸고 바뀐 사용자를 반환 (문서 전체를 다시 쓰지 않으므로 나머지 필드는 전송하지 않음)
+    // 사용자가 없으면 빈 Optional 반환
+    Optional<User> updateFields(String id, Map<String, Object> fields);
+
+    // 이전 방식(base64 문자열 profileImage 필드)으로 프로필 이미지를 저장한 사용자를 하나씩 읽음 (사용 후 close 필요)
+    Stream<LegacyProfileImage> streamLegacyProfileImages();
+
+    // 이전 방식의 profileImage 필드를 지우고 이미지 저장소의 이미지 ID로 바꿈
+    void replaceLegacyProfileImage(String id, String profileImageId);
+}
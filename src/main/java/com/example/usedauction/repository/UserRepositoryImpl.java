@@ -0,0 +1,50 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.User;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// UserRepositoryCustom 구현체 (Spring Data가 UserRepository에 자동으로 합쳐줌)
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String LEGACY_PROFILE_IMAGE = "profileImage"; // 이전 방식의 base64 이미지 필드
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<User> updateFields(String id, Map<String, Object> fields) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        Update update = new Update();
+        fields.forEach(update::set);
+        User updated = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), User.class);
+        return Optional.ofNullable(updated);
+    }
+
+    @Override
+    public Stream<LegacyProfileImage> streamLegacyProfileImages() {
+        Query query = new Query(Criteria.where(LEGACY_PROFILE_IMAGE).ne(null));
+        query.fields().include(LEGACY_PROFILE_IMAGE);
+        query.cursorBatchSize(4); // 문서 하나가 수 MB일 수 있으므로 조금씩 읽음
+        return mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(User.class))
+                .map(document -> new LegacyProfileImage(document.get("_id").toString(), document.getString(LEGACY_PROFILE_IMAGE)));
+    }
+
+    @Override
+    public void replaceLegacyProfileImage(String id, String profileImageId) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        Update update = new Update().set("profileImageId", profileImageId).unset(LEGACY_PROFILE_IMAGE);
+        mongoTemplate.updateFirst(query, update, User.class);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.usedauction.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+// JWT 서명/검증 (HS256)
+// 서명 키와 parser(thread-safe)를 한 번만 만들어 모든 요청이 공유 (요청마다 키 객체나 parser를 만들지 않음)
+// 토큰 헤더의 kid로 검증 키를 고르므로 키를 교체해도 parser를 다시 만들지 않음:
+//   - 새 토큰은 현재 키(key-id)로 서명
+//   - 이전 키(previous-keys, "kid:secret,kid:secret")는 그 키로 서명한 토큰이 만료될 때까지 검증에만 사용
+//   - kid가 없는 토큰(키 ID를 넣기 전에 발급된 토큰)은 그때 쓰던 키(legacy-key-id)로 검증하며, 키를 교체해도 바뀌지 않음
+//     (그 키를 retire하면 kid가 없는 토큰은 더 이상 받지 않음)
+@Component
+public class JwtCodec {
+
+    private static final String DEFAULT_KEY_ID = "k1"; // 키 ID를 넣을 때 처음 쓴 kid
+
+    private final JwtParser parser;
+    private volatile KeySet keys; // 교체할 때는 새 KeySet으로 바꿔 끼움 (읽는 쪽은 잠금 없음)
+
+    @Autowired
+    public JwtCodec(@Value("${security.jwt.token.secret-key:secret-key}") String secretKey,
+                    @Value("${security.jwt.token.key-id:k1}") String keyId,
+                    @Value("${security.jwt.token.previous-keys:}") String previousKeys,
+                    @Value("${security.jwt.token.legacy-key-id:k1}") String legacyKeyId) {
+        Map<String, SecretKey> verificationKeys = new HashMap<>();
+        for (String entry : previousKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("previous-keys entries must be kid:secret");
+            }
+            verificationKeys.put(entry.substring(0, colon).trim(), toKey(entry.substring(colon + 1).trim()));
+        }
+        SecretKey signingKey = toKey(secretKey);
+        verificationKeys.put(keyId, signingKey);
+        this.keys = new KeySet(keyId, signingKey, Map.copyOf(verificationKeys), legacyKeyId);
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keys.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public JwtCodec(String secretKey, String keyId, String previousKeys) {
+        this(secretKey, keyId, previousKeys, DEFAULT_KEY_ID);
+    }
+
+    public JwtCodec(String secretKey) {
+        this(secretKey, DEFAULT_KEY_ID, "");
+    }
+
+    // subject와 만료 시각을 담은 토큰 생성 (현재 키로 서명하고 헤더에 kid 기록)
+    public String encode(String subject, long validityInMilliseconds) {
+        KeySet current = keys;
+        Date now = new Date();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, current.keyId())
+                .setSubject(subject)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + validityInMilliseconds))
+                .signWith(current.signingKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // 서명과 만료 시간을 확인하고 claims(subject, exp 등)를 반환 (한 번만 파싱)
+    // 잘못되었거나 만료되었거나 exp가 없는 토큰이면 RuntimeException
+    public Claims decode(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody(); // 만료된 토큰은 여기서 ExpiredJwtException
+            if (claims.getExpiration() == null) {
+                throw new RuntimeException("Expired or invalid JWT token");
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Expired or invalid JWT token");
+        }
+    }
+
+    // 새 키로 교체: 이후 발급하는 토큰은 새 키로 서명하고, 이전 키들은 retire할 때까지 검증에 계속 사용
+    public synchronized void rotate(String keyId, String secretKey) {
+        SecretKey signingKey = toKey(secretKey);
+        Map<String, SecretKey> verificationKeys = new HashMap<>(keys.verificationKeys());
+        verificationKeys.put(keyId, signingKey);
+        keys = new KeySet(keyId, signingKey, Map.copyOf(verificationKeys), keys.legacyKeyId());
+    }
+
+    // 더 이상 유효한 토큰이 없는 이전 키 제거 (현재 서명 키는 제거할 수 없음)
+    public synchronized void retire(String keyId) {
+        if (keyId.equals(keys.keyId())) {
+            throw new IllegalArgumentException("Cannot retire the current signing key");
+        }
+        Map<String, SecretKey> verificationKeys = new HashMap<>(keys.verificationKeys());
+        verificationKeys.remove(keyId);
+        keys = new KeySet(keys.keyId(), keys.signingKey(), Map.copyOf(verificationKeys), keys.legacyKeyId());
+    }
+
+    public String currentKeyId() {
+        return keys.keyId();
+    }
+
+    private static SecretKey toKey(String secret) {
+        if (secret.length() < 32) {
+            throw new IllegalArgumentException("The secret key must be at least 32 characters long");
+        }
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 현재 서명 키와 kid별 검증 키, kid가 없는 토큰에 쓸 키 ID (불변)
+    private record KeySet(String keyId, SecretKey signingKey, Map<String, SecretKey> verificationKeys, String legacyKeyId) {
+
+        SecretKey verificationKey(String kid) {
+            SecretKey key = verificationKeys.get(kid != null ? kid : legacyKeyId);
+            if (key == null) {
+                throw new JwtException("Unknown JWT key id: " + kid);
+            }
+            return key;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.usedauction.security;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -11,6 +12,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Lazy;
+import io.jsonwebtoken.Claims;
 
 import java.io.IOException;
 
@@ -19,12 +21,15 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache; // 검증한 토큰 -> 사용자 캐시 (같은 토큰의 반복 요청은 파싱과 데이터베이스 조회 없음)
 
     // @Lazy를 사용하여 UserDetailsService의 의존성 주입을 지연시킴
     // 이렇게 하면, 애플리케이션 시작 시점에서의 순환 의존성 문제를 피할 수 있음
-    public JwtRequestFilter(JwtTokenProvider jwtTokenProvider, @Lazy UserDetailsService userDetailsService) {
+    public JwtRequestFilter(JwtTokenProvider jwtTokenProvider, @Lazy UserDetailsService userDetailsService,
+                            PrincipalCache principalCache) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -34,26 +39,33 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         // 요청에서 JWT 토큰을 추출
         String token = jwtTokenProvider.resolveToken(request);
 
-        // 토큰이 존재하고 유효한지 확인
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            // 토큰에서 이메일(사용자 이름) 추출
-            String email = jwtTokenProvider.getEmail(token);
+        // 토큰이 존재하면 사용자 확인 (잘못되었거나 만료된 토큰이면 예외)
+        if (token != null) {
+            UserDetails userDetails = resolveUser(token);
 
-            // UserDetailsService를 사용하여 사용자 세부 정보를 로드
-            var userDetails = userDetailsService.loadUserByUsername(email);
+            // 사용자 인증 토큰을 생성하여 SecurityContext에 설정
+            var authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-            // 사용자 정보가 유효한지 확인
-            if (userDetails != null) {
-                // 사용자 인증 토큰을 생성하여 SecurityContext에 설정
-                var authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                // 현재 인증된 사용자 정보를 SecurityContextHolder에 저장
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            // 현재 인증된 사용자 정보를 SecurityContextHolder에 저장
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
         // 다음 필터로 요청을 전달
         chain.doFilter(request, response);
     }
+
+    // 토큰의 사용자 조회 (캐시에 없을 때만 토큰을 한 번 파싱하고 UserDetailsService로 사용자를 읽어 캐시에 저장)
+    UserDetails resolveUser(String token) {
+        UserDetails cached = principalCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        long snapshot = principalCache.snapshot();
+        Claims claims = jwtTokenProvider.parseClaims(token); // 서명과 만료 시간 확인
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject()); // 토큰의 이메일(사용자 이름)로 사용자 조회
+        principalCache.put(token, userDetails, claims.getExpiration(), snapshot); // 토큰이 만료될 때까지 재사용
+        return userDetails;
+    }
 }
@@ -1,60 +1,39 @@
 package com.example.usedauction.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.Date;
 
 @Component
 public class JwtTokenProvider {
 
-    private final byte[] secretKey;
+    private final JwtCodec jwtCodec; // 미리 만들어 둔 서명 키와 parser로 토큰 생성/검증
 
     @Value("${security.jwt.token.expire-length:3600000}")
     private long validityInMilliseconds;
 
-    public JwtTokenProvider(@Value("${security.jwt.token.secret-key:secret-key}") String secretKeyProperty) {
-        if (secretKeyProperty.length() < 32) {
-            throw new IllegalArgumentException("The secret key must be at least 32 characters long");
-        }
-        this.secretKey = Keys.hmacShaKeyFor(secretKeyProperty.getBytes()).getEncoded();
+    public JwtTokenProvider(JwtCodec jwtCodec) {
+        this.jwtCodec = jwtCodec;
     }
 
     public String createToken(String email) {
-        Claims claims = Jwts.claims().setSubject(email);
-        Date now = new Date();
-        Date validity = new Date(now.getTime() + validityInMilliseconds);
-
-        return Jwts.builder()
-                .setClaims(claims)
-                .setIssuedAt(now)
-                .setExpiration(validity)
-                .signWith(Keys.hmacShaKeyFor(secretKey), SignatureAlgorithm.HS256)
-                .compact();
+        return jwtCodec.encode(email, validityInMilliseconds);
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return !claims.getBody().getExpiration().before(new Date());
-        } catch (JwtException | IllegalArgumentException e) {
-            throw new RuntimeException("Expired or invalid JWT token");
-        }
+        jwtCodec.decode(token); // 잘못되었거나 만료된 토큰이면 예외
+        return true;
+    }
+
+    // 서명과 만료 시간을 확인하고 claims를 반환 (한 번만 파싱, 잘못되었거나 만료된 토큰이면 validateToken과 같은 예외)
+    public Claims parseClaims(String token) {
+        return jwtCodec.decode(token);
     }
 
     public String getEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return jwtCodec.decode(token).getSubject();
     }
 
     public String resolveToken(HttpServletRequest req) {
@@ -0,0 +1,109 @@
+package com.example.usedauction.security;
+
+import com.example.usedauction.service.UserDeletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 검증을 마친 JWT -> 인증된 사용자(UserDetails) 캐시 (최대 항목 수로 제한)
+// 키는 토큰 원문이 아닌 SHA-256 digest이며, 같은 토큰 문자열은 이미 서명을 확인했으므로 캐시에 있으면 다시 파싱하지 않음
+// 항목은 토큰의 exp 시각에 만료되고 (다른 서버에서 삭제된 사용자를 위해 max-ttl-seconds보다 오래 두지 않음),
+// 사용자가 삭제되면(UserDeletedEvent) 그 사용자의 항목을 모두 제거
+// 적중/실패/제거 통계는 cache.* 지표(cache=principals)로 기록
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, CachedPrincipal> cache;
+    private final AtomicLong invalidations = new AtomicLong(); // 사용자 삭제 횟수 (조회 중에 삭제된 사용자를 캐시에 넣지 않기 위함)
+
+    @Autowired
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${security.jwt.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.jwt.principal-cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+                        long untilExp = TimeUnit.MILLISECONDS.toNanos(value.expiresAtMillis() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(untilExp, maxTtlNanos)); // 토큰 만료 시각 또는 최대 보관 시간
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration; // 조회해도 만료 시각은 그대로
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    // 캐시된 사용자 (없거나 토큰이 만료되었으면 null)
+    public UserDetails get(String token) {
+        CachedPrincipal cached = cache.getIfPresent(digest(token));
+        return cached == null ? null : cached.user();
+    }
+
+    // 사용자를 조회하기 전에 읽어 두고 put에 넘기는 값
+    public long snapshot() {
+        return invalidations.get();
+    }
+
+    // 검증한 토큰의 사용자를 저장 (snapshot 이후 사용자가 삭제되었으면 저장하지 않음)
+    public void put(String token, UserDetails user, Date expiration, long snapshot) {
+        if (expiration == null || invalidations.get() != snapshot) {
+            return;
+        }
+        String key = digest(token);
+        cache.put(key, new CachedPrincipal(user, expiration.getTime()));
+        if (invalidations.get() != snapshot) {
+            cache.invalidate(key); // 저장하는 사이에 삭제된 경우
+        }
+    }
+
+    // 삭제된 사용자의 토큰을 모두 제거 (사용자 삭제는 드물기 때문에 전체를 훑음)
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        invalidations.incrementAndGet();
+        cache.asMap().values().removeIf(cached -> cached.user().getUsername().equals(event.getEmail()));
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM이 지원하는 알고리즘
+        }
+    }
+
+    private record CachedPrincipal(UserDetails user, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.BidRepository;
+import com.example.usedauction.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 경매 종료 시간에 맞춰 서버에서 경매를 마감하는 스케줄러
+// 종료 시간은 타이밍 휠에 등록되며, 서버 시작 시 아직 마감되지 않은 경매를 데이터베이스에서 다시 불러옴
+@Service
+public class AuctionCloseScheduler {
+
+    private final ItemRepository itemRepository;
+    private final BidRepository bidRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemCache itemCache; // 마감된 상품은 캐시에서 제거
+    private final long tickMillis; // 타이밍 휠의 tick 간격
+    private final long graceMillis; // 종료 시간 이후 처리 중인 입찰을 기다리는 시간
+    private final long retryMillis; // 마감 처리 실패 시 다시 시도할 때까지의 시간
+
+    private final TimingWheel wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "auction-close-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService closer = Executors.newVirtualThreadPerTaskExecutor(); // 마감 처리는 tick 스레드 밖에서 실행
+
+    @Autowired
+    public AuctionCloseScheduler(ItemRepository itemRepository, BidRepository bidRepository,
+                                 ApplicationEventPublisher eventPublisher, ItemCache itemCache,
+                                 @Value("${auction.close.tick-ms:1000}") long tickMillis,
+                                 @Value("${auction.close.grace-ms:2000}") long graceMillis,
+                                 @Value("${auction.close.retry-ms:5000}") long retryMillis) {
+        this.itemRepository = itemRepository;
+        this.bidRepository = bidRepository;
+        this.eventPublisher = eventPublisher;
+        this.itemCache = itemCache;
+        this.tickMillis = tickMillis;
+        this.graceMillis = graceMillis;
+        this.retryMillis = retryMillis;
+        this.wheel = new TimingWheel(currentTick());
+    }
+
+    // 서버 시작 시 마감되지 않은 경매를 모두 등록하고 tick을 시작 (이미 지난 경매는 바로 마감)
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (Item item : itemRepository.findOpenAuctionDeadlines()) {
+            schedule(item.getId(), item.getEndDateTime());
+        }
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        closer.shutdownNow();
+    }
+
+    // 경매 종료 시간을 등록하거나 변경하는 메서드
+    public void schedule(String itemId, LocalDateTime endDateTime) {
+        if (itemId == null || endDateTime == null) {
+            return;
+        }
+        long endMillis = endDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        wheel.schedule(itemId, toTick(endMillis + graceMillis));
+    }
+
+    // 등록된 경매를 취소하는 메서드 (상품 삭제 시)
+    public void cancel(String itemId) {
+        wheel.cancel(itemId);
+    }
+
+    // 마감 대기 중인 경매 수
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    // 종료 시간이 지난 경매를 마감하는 메서드 (최고 입찰자를 낙찰자로, 최고 입찰가를 최종 가격으로 설정)
+    // 아직 종료되지 않았거나 이미 마감된 경매면 빈 Optional 반환
+    public Optional<Item> closeAuction(String itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Bid> highestBid = bidRepository.findFirstByItemIdOrderByBidAmountDescBidTimeAsc(itemId);
+        String winnerId = highestBid.map(Bid::getBidderId).orElse(null);
+        Integer finalPrice = highestBid.map(Bid::getBidAmount).orElse(null);
+
+        // 마감 여부 확인과 낙찰자/최종 가격 설정을 한 번의 조건부 업데이트로 처리
+        Optional<Item> closed = itemRepository.closeAuction(itemId, winnerId, finalPrice, now);
+        closed.ifPresent(item -> {
+            wheel.cancel(itemId);
+            itemCache.invalidate(itemId); // 마감 전 상태(낙찰자 없음)가 캐시에 남지 않도록 제거
+            eventPublisher.publishEvent(new AuctionClosedEvent(itemId, item.getWinnerId(), item.getLastPrice(),
+                    System.currentTimeMillis()));
+        });
+        return closed;
+    }
+
+    private void tick() {
+        try {
+            List<String> expired = wheel.advanceTo(currentTick());
+            for (String itemId : expired) {
+                closer.execute(() -> closeExpired(itemId));
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // 예외로 인해 주기 실행이 멈추지 않도록 처리
+        }
+    }
+
+    private void closeExpired(String itemId) {
+        try {
+            closeAuction(itemId);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            wheel.schedule(itemId, toTick(System.currentTimeMillis() + retryMillis)); // 잠시 후 다시 시도
+        }
+    }
+
+    private long currentTick() {
+        return toTick(System.currentTimeMillis());
+    }
+
+    private long toTick(long epochMillis) {
+        return Math.floorDiv(epochMillis, tickMillis);
+    }
+}
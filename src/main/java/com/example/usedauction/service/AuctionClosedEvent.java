@@ -0,0 +1,32 @@
+package com.example.usedauction.service;
+
+// 경매가 마감되었을 때 발행되는 이벤트 (애플리케이션 내부 이벤트이자 클라이언트 전송용 메시지)
+public class AuctionClosedEvent {
+    private final String itemId; // 상품 ID
+    private final String winnerId; // 낙찰자 ID (입찰이 없으면 null)
+    private final int finalPrice; // 낙찰 가격
+    private final long closedAt; // 마감 처리 시각 (epoch millis)
+
+    public AuctionClosedEvent(String itemId, String winnerId, int finalPrice, long closedAt) {
+        this.itemId = itemId;
+        this.winnerId = winnerId;
+        this.finalPrice = finalPrice;
+        this.closedAt = closedAt;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public String getWinnerId() {
+        return winnerId;
+    }
+
+    public int getFinalPrice() {
+        return finalPrice;
+    }
+
+    public long getClosedAt() {
+        return closedAt;
+    }
+}
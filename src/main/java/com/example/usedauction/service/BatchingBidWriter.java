@@ -0,0 +1,257 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.repository.BidRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteInsert;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+// 여러 요청의 입찰 기록을 모아서 한 번의 bulk insert로 저장하는 서비스 (group commit)
+// 호출한 쪽은 자신의 입찰이 포함된 bulk insert가 끝난 뒤에 결과를 받음
+// bulk insert 중 일부만 실패하면 실패한 입찰만 예외를 받고, 나머지는 저장 결과대로 완료되거나 한 건씩 다시 저장됨
+@Service
+public class BatchingBidWriter {
+
+    private final BidRepository bidRepository;
+    private final boolean enabled; // group commit 사용 여부 (false면 입찰마다 바로 insert)
+    private final int maxBatchSize; // 한 번에 저장할 최대 입찰 수
+    private final long maxDelayNanos; // 첫 입찰이 들어온 뒤 배치를 모으며 기다리는 최대 시간
+
+    private final BlockingQueue<PendingBid> queue;
+    private final DistributionSummary batchSize; // 배치 크기 지표
+    private final Timer flushLatency; // bulk insert 소요 시간 지표
+    private final Thread flusher;
+    private volatile boolean closed; // shutdown 이후에는 새 입찰을 받지 않음 (대기열에 넣어도 저장할 스레드가 없음)
+
+    @Autowired
+    public BatchingBidWriter(BidRepository bidRepository, MeterRegistry meterRegistry,
+                             @Value("${auction.bid.group-commit.enabled:false}") boolean enabled,
+                             @Value("${auction.bid.group-commit.max-batch-size:64}") int maxBatchSize,
+                             @Value("${auction.bid.group-commit.max-delay-ms:2}") long maxDelayMillis,
+                             @Value("${auction.bid.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.bidRepository = bidRepository;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity); // 가득 차면 호출한 쪽이 기다림
+        this.batchSize = DistributionSummary.builder("auction.bid.writer.batch.size")
+                .description("Number of bids written per bulk insert")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("auction.bid.writer.flush.latency")
+                .description("Time spent in one bulk insert of bids")
+                .register(meterRegistry);
+
+        if (enabled) {
+            this.flusher = new Thread(this::runFlusher, "bid-group-commit");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    // 입찰 기록을 저장하고, 저장이 완료된(ID가 채워진) 입찰을 반환하는 메서드
+    public Bid insert(Bid bid) {
+        if (!enabled) {
+            return bidRepository.insert(bid);
+        }
+
+        if (closed) {
+            throw shuttingDown();
+        }
+        PendingBid pending = new PendingBid(bid, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing bid", e);
+        }
+        // 넣는 사이에 종료되어 작업 스레드가 대기열을 이미 비웠으면 직접 꺼내서 실패 처리
+        // (꺼내지 못했으면 작업 스레드가 가져가 결과를 채움)
+        if (closed && queue.remove(pending)) {
+            throw shuttingDown();
+        }
+
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+    }
+
+    private record PendingBid(Bid bid, CompletableFuture<Bid> result) {
+    }
+
+    // 크기(maxBatchSize) 또는 시간(maxDelay) 조건 중 먼저 만족하는 시점에 모인 입찰을 저장
+    private void runFlusher() {
+        List<PendingBid> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (true) {
+                batch.add(queue.take()); // 첫 입찰이 들어올 때까지 대기
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingBid next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // 종료 시 아직 저장되지 않은 입찰은 모두 실패 처리
+            queue.drainTo(batch);
+            batch.forEach(pending -> pending.result().completeExceptionally(shuttingDown()));
+        }
+    }
+
+    private static IllegalStateException shuttingDown() {
+        return new IllegalStateException("Bid writer is shutting down");
+    }
+
+    private void flush(List<PendingBid> batch) {
+        List<Bid> bids = new ArrayList<>(batch.size());
+        for (PendingBid pending : batch) {
+            if (pending.bid().getId() == null) {
+                pending.bid().setId(new ObjectId().toHexString()); // 실패 후 다시 저장할 때 이미 저장된 입찰인지 ID로 확인하기 위해 미리 지정
+            }
+            bids.add(pending.bid());
+        }
+
+        long start = System.nanoTime();
+        try {
+            List<Bid> saved = bidRepository.insert(bids); // insertMany 한 번으로 저장 (순서 유지)
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            completePartially(batch, e);
+        } finally {
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSize.record(batch.size());
+        }
+    }
+
+    // bulk insert가 실패한 경우 실패한 입찰만 실패 처리
+    // - 오류가 보고된 위치의 입찰: 해당 오류로 실패 (유일 키 위반이면 DuplicateKeyException)
+    // - 저장된 것으로 보고된 입찰과 첫 오류 앞의 입찰 (ordered insert): 저장 완료
+    // - 나머지 (시도되지 않았거나 결과를 알 수 없는 입찰): 한 건씩 다시 저장
+    private void completePartially(List<PendingBid> batch, RuntimeException e) {
+        List<BulkWriteError> errors = writeErrors(e);
+        boolean[] done = new boolean[batch.size()];
+        if (errors != null && !errors.isEmpty()) {
+            int firstError = batch.size();
+            for (BulkWriteError error : errors) {
+                firstError = Math.min(firstError, error.getIndex());
+                batch.get(error.getIndex()).result().completeExceptionally(translate(error, e));
+                done[error.getIndex()] = true;
+            }
+            for (int i = 0; i < firstError; i++) {
+                done[i] = true;
+            }
+            for (BulkWriteInsert insert : insertedOf(e)) {
+                done[insert.getIndex()] = true;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (done[i] && !batch.get(i).result().isDone()) {
+                    batch.get(i).result().complete(batch.get(i).bid());
+                }
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (!done[i]) {
+                insertOne(batch.get(i));
+            }
+        }
+    }
+
+    // 한 건 저장 (이전 bulk insert에서 이미 저장되었으면 같은 ID의 유일 키 위반이 나므로 저장된 것으로 처리)
+    private void insertOne(PendingBid pending) {
+        try {
+            pending.result().complete(bidRepository.insert(pending.bid()));
+        } catch (DuplicateKeyException e) {
+            if (bidRepository.existsById(pending.bid().getId())) {
+                pending.result().complete(pending.bid());
+            } else {
+                pending.result().completeExceptionally(e); // 다른 입찰과 Idempotency-Key가 같은 경우
+            }
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    // 예외에서 입찰별 오류 목록을 꺼냄 (bulk write 오류가 아니면 null)
+    private static List<BulkWriteError> writeErrors(Throwable e) {
+        if (e instanceof BulkOperationException bulk) {
+            return bulk.getErrors();
+        }
+        MongoBulkWriteException cause = bulkWriteCause(e);
+        return cause == null ? null : cause.getWriteErrors();
+    }
+
+    private static List<BulkWriteInsert> insertedOf(Throwable e) {
+        if (e instanceof BulkOperationException bulk && bulk.getResult() != null && bulk.getResult().wasAcknowledged()) {
+            return bulk.getResult().getInserts();
+        }
+        MongoBulkWriteException cause = bulkWriteCause(e);
+        if (cause == null || !cause.getWriteResult().wasAcknowledged()) {
+            return List.of();
+        }
+        return cause.getWriteResult().getInserts();
+    }
+
+    private static MongoBulkWriteException bulkWriteCause(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof MongoBulkWriteException bulk) {
+                return bulk;
+            }
+        }
+        return null;
+    }
+
+    private static RuntimeException translate(BulkWriteError error, RuntimeException e) {
+        if (error.getCategory() == ErrorCategory.DUPLICATE_KEY) {
+            return new DuplicateKeyException(error.getMessage(), e);
+        }
+        return new DataIntegrityViolationException(error.getMessage(), e);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.usedauction.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 성공한 입찰을 STOMP 브로커의 /topic/items/{itemId}로 전송하는 서비스
+// 아직 전송되지 않은 이벤트가 있는 상품에 새 입찰이 오면 입찰 횟수가 더 큰 이벤트 하나만 전송 (coalescing)
+// 이미 전송한 것보다 입찰 횟수가 작은 이벤트는 전송하지 않으므로 클라이언트의 가격이 뒤로 가지 않음
+@Service
+public class BidEventPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NicknameCache nicknameCache;
+
+    private final ConcurrentHashMap<String, PendingEvent> pending = new ConcurrentHashMap<>(); // 상품 ID별 전송 대기 이벤트
+    private final Map<String, Integer> lastSentBidCount = new HashMap<>(); // 상품 ID별 마지막으로 전송한 입찰 횟수 (전송 스레드에서만 접근)
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bid-event-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public BidEventPublisher(SimpMessagingTemplate messagingTemplate, NicknameCache nicknameCache) {
+        this.messagingTemplate = messagingTemplate;
+        this.nicknameCache = nicknameCache;
+    }
+
+    // 성공한 입찰을 전송 대기열에 넣는 메서드 (요청 스레드는 전송을 기다리지 않음)
+    // 닉네임은 여기서 조회 (캐시에 없어 데이터베이스를 읽더라도 모든 상품이 함께 쓰는 전송 스레드를 멈추지 않도록)
+    @EventListener
+    public void onBidPlaced(BidPlacedEvent event) {
+        String itemId = event.getBid().getItemId();
+        String nickname = nicknameCache.getNickname(event.getBid().getBidderId());
+        // 대기 중인 이벤트가 없을 때만 전송 작업을 예약, 있으면 입찰 횟수가 더 큰(최신) 이벤트만 남김
+        // (순차 처리/group commit 경로에서는 리스너 호출 순서가 입찰 순서와 다를 수 있음)
+        boolean[] merged = {false};
+        pending.merge(itemId, new PendingEvent(event.getBid().getBidAmount(), nickname, event.getBidCount()), (current, next) -> {
+            merged[0] = true;
+            return current.bidCount() >= next.bidCount() ? current : next;
+        });
+        if (!merged[0]) {
+            executor.execute(() -> send(itemId));
+        }
+    }
+
+    // 경매 마감 이벤트를 /topic/items/{itemId}/closed로 전송
+    @EventListener
+    public void onAuctionClosed(AuctionClosedEvent event) {
+        executor.execute(() -> {
+            lastSentBidCount.remove(event.getItemId()); // 마감된 상품에는 더 이상 입찰 이벤트가 없음
+            try {
+                messagingTemplate.convertAndSend("/topic/items/" + event.getItemId() + "/closed", event);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // 마감 전에 삭제된 상품의 전송 기록을 제거
+    // (전송 스레드에서 처리, 삭제 전에 대기하던 이벤트의 전송 작업은 이미 앞에 예약되어 있음)
+    @EventListener
+    public void onItemDeleted(ItemDeletedEvent event) {
+        executor.execute(() -> lastSentBidCount.remove(event.getItemId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void send(String itemId) {
+        PendingEvent event = pending.remove(itemId);
+        if (event == null) {
+            return;
+        }
+        Integer lastSent = lastSentBidCount.get(itemId);
+        if (lastSent != null && lastSent >= event.bidCount()) {
+            return; // 이미 더 최신 이벤트를 전송한 뒤 늦게 도착한 이벤트
+        }
+        lastSentBidCount.put(itemId, event.bidCount());
+
+        try {
+            BidEvent payload = new BidEvent(itemId, event.price(), event.nickname(), event.bidCount(),
+                    System.currentTimeMillis());
+            messagingTemplate.convertAndSend("/topic/items/" + itemId, payload);
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // 전송 실패는 입찰 결과에 영향을 주지 않음
+        }
+    }
+
+    private record PendingEvent(int price, String nickname, int bidCount) {
+    }
+
+    // 클라이언트로 전송되는 입찰 이벤트
+    public static class BidEvent {
+        private final String itemId; // 상품 ID
+        private final int price; // 새 현재 최고가
+        private final String bidderNickname; // 입찰자 닉네임
+        private final int bidCount; // 지금까지의 입찰 횟수
+        private final long serverTime; // 서버 시간 (epoch millis, 남은 시간 계산용)
+
+        public BidEvent(String itemId, int price, String bidderNickname, int bidCount, long serverTime) {
+            this.itemId = itemId;
+            this.price = price;
+            this.bidderNickname = bidderNickname;
+            this.bidCount = bidCount;
+            this.serverTime = serverTime;
+        }
+
+        public String getItemId() {
+            return itemId;
+        }
+
+        public int getPrice() {
+            return price;
+        }
+
+        public String getBidderNickname() {
+            return bidderNickname;
+        }
+
+        public int getBidCount() {
+            return bidCount;
+        }
+
+        public long getServerTime() {
+            return serverTime;
+        }
+    }
+}
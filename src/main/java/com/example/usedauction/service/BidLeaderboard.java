@@ -0,0 +1,71 @@
+package com.example.usedauction.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// 상품 하나의 상위 K개 입찰 (금액 내림차순, 금액이 같으면 먼저 입찰한 순)
+// 금액과 시간은 박싱 없이 기본형 배열에 보관하여 상품당 메모리를 작게 유지
+public class BidLeaderboard {
+
+    private final int[] amounts; // 입찰 금액
+    private final long[] bidTimes; // 입찰 시간 (epoch millis)
+    private final String[] bidderIds; // 입찰자 ID
+    private int size; // 현재 보관 중인 입찰 수
+    private int bidCount; // 상품의 전체 입찰 횟수
+
+    public BidLeaderboard(int capacity) {
+        this.amounts = new int[capacity];
+        this.bidTimes = new long[capacity];
+        this.bidderIds = new String[capacity];
+    }
+
+    // 입찰을 순위에 반영 (상위 K개에 들지 못하거나 이미 반영된 입찰이면 무시)
+    public synchronized void offer(String bidderId, int amount, long bidTime) {
+        int capacity = amounts.length;
+        int position = size;
+        for (int i = 0; i < size; i++) {
+            if (amounts[i] == amount && bidTimes[i] == bidTime && Objects.equals(bidderIds[i], bidderId)) {
+                return; // 데이터베이스에서 다시 불러온 입찰과 같은 입찰
+            }
+            if (position == size && (amount > amounts[i] || (amount == amounts[i] && bidTime < bidTimes[i]))) {
+                position = i;
+            }
+        }
+        if (position >= capacity) {
+            return;
+        }
+
+        int moved = Math.min(size, capacity - 1) - position; // 뒤로 밀려나는 항목 수 (가득 찼으면 마지막은 버림)
+        System.arraycopy(amounts, position, amounts, position + 1, moved);
+        System.arraycopy(bidTimes, position, bidTimes, position + 1, moved);
+        System.arraycopy(bidderIds, position, bidderIds, position + 1, moved);
+        amounts[position] = amount;
+        bidTimes[position] = bidTime;
+        bidderIds[position] = bidderId;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    // 입찰 횟수 반영 (입찰 순서가 뒤바뀌어 도착해도 큰 값을 유지)
+    public synchronized void updateBidCount(int bidCount) {
+        this.bidCount = Math.max(this.bidCount, bidCount);
+    }
+
+    public synchronized int getBidCount() {
+        return bidCount;
+    }
+
+    // 현재 순위의 복사본
+    public synchronized List<Entry> getEntries() {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(bidderIds[i], amounts[i], bidTimes[i]));
+        }
+        return entries;
+    }
+
+    public record Entry(String bidderId, int bidAmount, long bidTime) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.BidRepository;
+import com.example.usedauction.repository.BidRepositoryCustom.BidOrder;
+import com.example.usedauction.repository.ItemRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// 상품별 상위 입찰 순위와 입찰 횟수를 메모리에 유지하는 서비스
+// 서버 시작 후 처음 조회(또는 입찰)될 때 데이터베이스에서 한 번 불러오고, 이후에는 입찰 성공 이벤트로만 갱신
+// 없는 상품은 캐시에 넣지 않으며, 상품이 삭제되거나 경매가 마감되면 순위를 캐시에서 제거
+@Service
+public class BidLeaderboardService {
+
+    private final BidRepository bidRepository;
+    private final ItemRepository itemRepository;
+    private final NicknameCache nicknameCache;
+    private final int topSize; // 상품별로 보관하는 상위 입찰 수
+    private final Cache<String, BidLeaderboard> leaderboards; // 상품 ID별 순위
+
+    @Autowired
+    public BidLeaderboardService(BidRepository bidRepository, ItemRepository itemRepository, NicknameCache nicknameCache,
+                                 @Value("${auction.leaderboard.size:5}") int topSize,
+                                 @Value("${auction.leaderboard.max-items:100000}") long maxItems,
+                                 @Value("${auction.leaderboard.idle-minutes:60}") long idleMinutes) {
+        this.bidRepository = bidRepository;
+        this.itemRepository = itemRepository;
+        this.nicknameCache = nicknameCache;
+        this.topSize = topSize;
+        this.leaderboards = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes)) // 한동안 조회/입찰이 없는 상품은 제거
+                .build();
+    }
+
+    // 성공한 입찰을 순위에 반영
+    @EventListener
+    public void onBidPlaced(BidPlacedEvent event) {
+        Bid bid = event.getBid();
+        BidLeaderboard leaderboard = leaderboards.get(bid.getItemId(), this::load);
+        if (leaderboard == null) {
+            return; // 그 사이 삭제된 상품
+        }
+        leaderboard.offer(bid.getBidderId(), bid.getBidAmount(), bid.getBidTime().getTime());
+        leaderboard.updateBidCount(event.getBidCount());
+    }
+
+    @EventListener
+    public void onAuctionClosed(AuctionClosedEvent event) {
+        leaderboards.invalidate(event.getItemId()); // 더 이상 입찰이 없으므로 메모리에 둘 필요 없음
+    }
+
+    @EventListener
+    public void onItemDeleted(ItemDeletedEvent event) {
+        leaderboards.invalidate(event.getItemId());
+    }
+
+    // 상품의 상위 입찰과 입찰 횟수를 조회하는 메서드 (상품이 없으면 빈 Optional)
+    public Optional<TopBids> getTopBids(String itemId) {
+        BidLeaderboard leaderboard = leaderboards.get(itemId, this::load);
+        if (leaderboard == null) {
+            return Optional.empty();
+        }
+        List<BidLeaderboard.Entry> entries = leaderboard.getEntries();
+        Map<String, String> nicknames = nicknameCache.getNicknames(
+                entries.stream().map(BidLeaderboard.Entry::bidderId).collect(Collectors.toSet()));
+
+        List<TopBid> bids = entries.stream()
+                .map(entry -> new TopBid(entry.bidderId(),
+                        nicknames.getOrDefault(entry.bidderId(), NicknameCache.UNKNOWN_NICKNAME),
+                        entry.bidAmount(), new Date(entry.bidTime())))
+                .collect(Collectors.toList());
+        return Optional.of(new TopBids(itemId, leaderboard.getBidCount(), bids));
+    }
+
+    // 데이터베이스에서 상위 입찰과 입찰 횟수를 불러와 순위를 만듦 (상품별 최초 한 번)
+    // 상품이 없으면 null을 반환하여 캐시에 넣지 않음 (없는 ID로 캐시를 채워 다른 상품을 밀어내지 않도록)
+    private BidLeaderboard load(String itemId) {
+        Optional<Item> counts = itemRepository.findBidCountById(itemId);
+        if (counts.isEmpty()) {
+            return null;
+        }
+        BidLeaderboard leaderboard = new BidLeaderboard(topSize);
+        for (Bid bid : bidRepository.findPageByItemId(itemId, BidOrder.AMOUNT, null, topSize)) {
+            leaderboard.offer(bid.getBidderId(), bid.getBidAmount(), bid.getBidTime().getTime());
+        }
+        leaderboard.updateBidCount(counts.get().getBidCount());
+        return leaderboard;
+    }
+
+    // 상품의 상위 입찰 응답
+    public static class TopBids {
+        private final String itemId; // 상품 ID
+        private final int bidCount; // 전체 입찰 횟수
+        private final List<TopBid> bids; // 금액 높은 순 상위 입찰
+
+        public TopBids(String itemId, int bidCount, List<TopBid> bids) {
+            this.itemId = itemId;
+            this.bidCount = bidCount;
+            this.bids = bids;
+        }
+
+        public String getItemId() {
+            return itemId;
+        }
+
+        public int getBidCount() {
+            return bidCount;
+        }
+
+        public List<TopBid> getBids() {
+            return bids;
+        }
+    }
+
+    // 순위에 포함된 입찰 하나
+    public static class TopBid {
+        private final String bidderId; // 입찰자 ID
+        private final String nickname; // 입찰자 닉네임
+        private final int bidAmount; // 입찰 금액
+        private final Date bidTime; // 입찰 시간
+
+        public TopBid(String bidderId, String nickname, int bidAmount, Date bidTime) {
+            this.bidderId = bidderId;
+            this.nickname = nickname;
+            this.bidAmount = bidAmount;
+            this.bidTime = bidTime;
+        }
+
+        public String getBidderId() {
+            return bidderId;
+        }
+
+        public String getNickname() {
+            return nickname;
+        }
+
+        public int getBidAmount() {
+            return bidAmount;
+        }
+
+        public Date getBidTime() {
+            return bidTime;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+
+// 입찰이 성공하여 저장된 직후 발행되는 애플리케이션 이벤트 (입찰 요청 스레드에서 동기적으로 전달)
+public class BidPlacedEvent {
+    private final Bid bid; // 저장된 입찰 기록
+    private final int bidCount; // 이 입찰을 포함한 상품의 입찰 횟수
+
+    public BidPlacedEvent(Bid bid, int bidCount) {
+        this.bid = bid;
+        this.bidCount = bidCount;
+    }
+
+    public Bid getBid() {
+        return bid;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    // 자동 입찰이 만든 입찰인지 여부 (이벤트를 발행하는 스레드와 관계없이 판단)
+    public boolean isProxy() {
+        return bid.isProxy();
+    }
+}
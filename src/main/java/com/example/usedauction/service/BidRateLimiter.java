@@ -0,0 +1,93 @@
+package com.example.usedauction.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 입찰 요청 속도 제한 서비스 (입찰자별, 상품별 token bucket)
+// 소수의 스크립트 클라이언트가 인기 상품에 입찰 요청을 쏟아내어 다른 사용자의 입찰을 막지 못하도록 함
+@Service
+public class BidRateLimiter {
+
+    private final boolean enabled; // 속도 제한 사용 여부
+    private final TokenBucketTable bidderBuckets; // 입찰자별 한도
+    private final TokenBucketTable itemBuckets; // 상품별 한도
+    private final long idleNanos; // 이 시간 동안 사용되지 않은 키는 제거
+    private final Counter bidderRejections; // 입찰자 한도로 거절된 요청 수
+    private final Counter itemRejections; // 상품 한도로 거절된 요청 수
+    private final ScheduledExecutorService sweeper;
+
+    @Autowired
+    public BidRateLimiter(MeterRegistry meterRegistry,
+                          @Value("${auction.bid.rate-limit.enabled:true}") boolean enabled,
+                          @Value("${auction.bid.rate-limit.bidder.per-second:5}") double bidderPerSecond,
+                          @Value("${auction.bid.rate-limit.bidder.burst:10}") int bidderBurst,
+                          @Value("${auction.bid.rate-limit.item.per-second:200}") double itemPerSecond,
+                          @Value("${auction.bid.rate-limit.item.burst:400}") int itemBurst,
+                          @Value("${auction.bid.rate-limit.stripes:64}") int stripes,
+                          @Value("${auction.bid.rate-limit.idle-seconds:60}") long idleSeconds) {
+        this.enabled = enabled;
+        this.bidderBuckets = new TokenBucketTable(bidderPerSecond, bidderBurst, stripes);
+        this.itemBuckets = new TokenBucketTable(itemPerSecond, itemBurst, stripes);
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+        this.bidderRejections = Counter.builder("auction.bid.rate-limited")
+                .description("Bid requests rejected by the rate limiter")
+                .tag("scope", "bidder")
+                .register(meterRegistry);
+        this.itemRejections = Counter.builder("auction.bid.rate-limited")
+                .description("Bid requests rejected by the rate limiter")
+                .tag("scope", "item")
+                .register(meterRegistry);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bid-rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            long period = Math.max(idleSeconds / 2, 1);
+            sweeper.scheduleAtFixedRate(this::sweep, period, period, TimeUnit.SECONDS);
+        }
+    }
+
+    // 입찰 요청 하나를 허용할지 확인하고, 허용되면 0, 거절되면 다시 시도할 수 있을 때까지의 시간(나노초)을 반환
+    // 상품 한도에 걸리면 입찰자 토큰은 되돌려서 다른 상품 입찰에는 영향이 없도록 함
+    public long tryAcquire(String bidderKey, String itemId) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long wait = bidderBuckets.tryAcquire(bidderKey, now);
+        if (wait > 0) {
+            bidderRejections.increment();
+            return wait;
+        }
+        if (itemId == null) {
+            return 0; // 상품 ID가 없는 잘못된 요청은 입찰 처리 단계에서 거절됨
+        }
+        wait = itemBuckets.tryAcquire(itemId, now);
+        if (wait > 0) {
+            bidderBuckets.refund(bidderKey);
+            itemRejections.increment();
+        }
+        return wait;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        bidderBuckets.sweep(now, idleNanos);
+        itemBuckets.sweep(now, idleNanos);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.usedauction.service;
+
+// 입찰이 거절되었을 때 발생하는 예외 (거절 사유를 함께 전달)
+public class BidRejectedException extends RuntimeException {
+
+    public enum Reason {
+        ITEM_NOT_FOUND, // 상품이 존재하지 않음
+        AUCTION_ENDED, // 경매가 이미 마감됨
+        BID_TOO_LOW // 입찰 금액이 (현재 최고가 + 입찰 단위)보다 낮음
+    }
+
+    private final Reason reason;
+
+    public BidRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public static BidRejectedException itemNotFound(String itemId) {
+        return new BidRejectedException(Reason.ITEM_NOT_FOUND, "Item not found with id " + itemId);
+    }
+
+    public static BidRejectedException auctionEnded(String itemId) {
+        return new BidRejectedException(Reason.AUCTION_ENDED, "Auction has ended for item " + itemId);
+    }
+
+    public static BidRejectedException bidTooLow(int bidAmount, int minimumBid) {
+        return new BidRejectedException(Reason.BID_TOO_LOW, "Bid " + bidAmount + " is lower than the minimum bid " + minimumBid);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 상품별 입찰을 하나의 가상 스레드 워커가 순서대로 처리하는 서비스
+// 워커는 현재 최고가를 메모리에 들고 있으며, 성공한 입찰만 데이터베이스에 기록
+@Service
+public class BidSequencer {
+
+    private final BatchingBidWriter bidWriter;
+    private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemCache itemCache; // 최고가가 바뀐 상품은 캐시에서 제거
+    private final boolean enabled; // 순차 처리 모드 사용 여부
+    private final long idleTimeoutMillis; // 이 시간 동안 입찰이 없으면 워커를 제거
+
+    private final ConcurrentHashMap<String, ItemWorker> workers = new ConcurrentHashMap<>(); // 상품 ID별 워커
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public BidSequencer(BatchingBidWriter bidWriter, ItemRepository itemRepository, ApplicationEventPublisher eventPublisher,
+                        ItemCache itemCache,
+                        @Value("${auction.bid.sequencer.enabled:false}") boolean enabled,
+                        @Value("${auction.bid.sequencer.idle-timeout-ms:30000}") long idleTimeoutMillis) {
+        this.bidWriter = bidWriter;
+        this.itemRepository = itemRepository;
+        this.eventPublisher = eventPublisher;
+        this.itemCache = itemCache;
+        this.enabled = enabled;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 현재 살아 있는 상품별 워커 수
+    public int getActiveWorkerCount() {
+        return workers.size();
+    }
+
+    // 입찰 요청을 상품의 메일박스에 넣고 워커의 처리 결과를 기다리는 메서드
+    public Bid placeBid(String itemId, String bidderId, int bidAmount, String idempotencyKey, boolean proxy) {
+        BidRequest request = new BidRequest(bidderId, bidAmount, idempotencyKey, proxy, new CompletableFuture<>());
+
+        // 워커 제거(retire)와 같은 잠금 안에서 메일박스에 넣으므로, 제거 중인 워커에 요청이 남지 않음
+        workers.compute(itemId, (key, worker) -> {
+            if (worker == null) {
+                worker = new ItemWorker(key);
+                executor.execute(worker);
+            }
+            worker.mailbox.add(request);
+            return worker;
+        });
+
+        try {
+            return request.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause; // BidRejectedException 등은 그대로 전달
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record BidRequest(String bidderId, int bidAmount, String idempotencyKey, boolean proxy,
+                              CompletableFuture<Bid> result) {
+    }
+
+    // 하나의 상품에 대한 입찰을 순서대로 처리하는 워커
+    private class ItemWorker implements Runnable {
+        private final String itemId;
+        private final LinkedBlockingQueue<BidRequest> mailbox = new LinkedBlockingQueue<>();
+
+        // 워커 스레드에서만 접근하는 현재 상품 상태
+        private boolean loaded;
+        private int lastPrice;
+        private int bidUnit;
+        private LocalDateTime endDateTime;
+
+        ItemWorker(String itemId) {
+            this.itemId = itemId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    BidRequest request = mailbox.poll(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                    if (request == null) {
+                        if (retire()) {
+                            return;
+                        }
+                        continue;
+                    }
+                    handle(request);
+                }
+            } catch (InterruptedException e) {
+                // 종료 시 남은 요청은 모두 실패 처리
+                workers.remove(itemId, this);
+                BidRequest pending;
+                while ((pending = mailbox.poll()) != null) {
+                    pending.result().completeExceptionally(new IllegalStateException("Bid sequencer is shutting down"));
+                }
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 메일박스가 비어 있을 때만 맵에서 제거하고 true 반환
+        private boolean retire() {
+            return workers.computeIfPresent(itemId, (key, worker) ->
+                    worker == this && mailbox.isEmpty() ? null : worker) != this;
+        }
+
+        private void handle(BidRequest request) {
+            try {
+                request.result().complete(apply(request));
+            } catch (RuntimeException e) {
+                request.result().completeExceptionally(e);
+            }
+        }
+
+        private Bid apply(BidRequest request) {
+            int bidAmount = request.bidAmount();
+            LocalDateTime now = LocalDateTime.now();
+            if (!loaded) {
+                reload();
+            }
+            check(bidAmount, now); // 거절되는 입찰은 데이터베이스에 접근하지 않음
+
+            // 다른 경로(다른 서버, 상품 수정 등)로 상품이 바뀌었을 수 있으므로 조건부 업데이트로 한 번 더 확인
+            Optional<Item> previous = itemRepository.raiseLastPrice(itemId, bidAmount, now);
+            if (previous.isEmpty()) {
+                reload();
+                check(bidAmount, now);
+                previous = itemRepository.raiseLastPrice(itemId, bidAmount, now);
+                if (previous.isEmpty()) {
+                    loaded = false;
+                    throw BidRejectedException.bidTooLow(bidAmount, lastPrice + bidUnit);
+                }
+            }
+            itemCache.invalidate(itemId);
+
+            Bid savedBid;
+            try {
+                savedBid = BidService.insertOrRevert(itemRepository, itemCache, bidWriter, previous.get(),
+                        BidService.newBid(itemId, request.bidderId(), bidAmount, request.idempotencyKey(), request.proxy()));
+            } catch (RuntimeException e) {
+                loaded = false; // 최고가를 되돌렸으므로 다음 입찰 전에 다시 읽음
+                throw e;
+            }
+            lastPrice = bidAmount; // 메모리의 현재 최고가 갱신
+            eventPublisher.publishEvent(new BidPlacedEvent(savedBid, previous.get().getBidCount() + 1));
+            return savedBid;
+        }
+
+        private void check(int bidAmount, LocalDateTime now) {
+            if (endDateTime == null || !endDateTime.isAfter(now)) {
+                throw BidRejectedException.auctionEnded(itemId);
+            }
+            if (bidAmount < lastPrice + bidUnit) {
+                throw BidRejectedException.bidTooLow(bidAmount, lastPrice + bidUnit);
+            }
+        }
+
+        // 데이터베이스에서 상품의 현재 상태를 다시 읽어옴
+        private void reload() {
+            Item item = itemRepository.findById(itemId)
+                    .orElseThrow(() -> BidRejectedException.itemNotFound(itemId));
+            lastPrice = item.getLastPrice();
+            bidUnit = item.getBidUnit();
+            endDateTime = item.getEndDateTime();
+            loaded = true;
+        }
+    }
+}
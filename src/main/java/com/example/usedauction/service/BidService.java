@@ -1,65 +1,238 @@
 package com.example.usedauction.service;
 
 import com.example.usedauction.model.Bid; // 입찰자 정보를 위한 모델 클래스
-import com.example.usedauction.model.User; // 사용자 정보를 위한 모델 클래스
 import com.example.usedauction.model.Item; // 상품 정보를 위한 모델 클래스
 import com.example.usedauction.repository.BidRepository; // 입찰 정보 저장소
-import com.example.usedauction.repository.UserRepository; // 사용자 정보 저장소
+import com.example.usedauction.repository.BidRepositoryCustom.BidOrder; // 입찰 기록 정렬 기준
 import com.example.usedauction.repository.ItemRepository; // 상품 정보 저장소
 import org.springframework.beans.factory.annotation.Autowired; // 의존성 주입을 위한 어노테이션
+import org.springframework.context.ApplicationEventPublisher; // 애플리케이션 이벤트 발행을 위한 인터페이스
+import org.springframework.data.domain.PageRequest; // 페이지 요청을 위한 클래스
+import org.springframework.data.domain.Sort; // 정렬 조건을 위한 클래스
 import org.springframework.stereotype.Service; // 서비스 클래스를 나타내는 어노테이션
 
+import java.nio.charset.StandardCharsets; // cursor 인코딩을 위한 문자셋
+import java.time.LocalDateTime; // 경매 마감 시간 비교를 위한 클래스
+import java.util.Base64; // cursor 인코딩을 위한 클래스
 import java.util.Date; // 날짜와 시간을 다루기 위한 클래스
 import java.util.List; // 리스트로 다루기 위한 인터페이스
+import java.util.Map; // 닉네임 조회 결과를 다루기 위한 인터페이스
+import java.util.Optional; // 조회 결과를 다루기 위한 클래스
 import java.util.stream.Collectors; // 스트림 API를 사용하기 위한 클래스
 
 @Service // Spring의 서비스 레이어를 나타내는 어노테이션
 public class BidService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20; // 입찰 기록 조회 기본 페이지 크기
+    public static final int MAX_PAGE_SIZE = 100; // 한 번에 조회할 수 있는 최대 입찰 기록 수
+
     private final BidRepository bidRepository; // 입찰 관련 데이터베이스 접근을 위한 저장소
-    private final UserRepository userRepository; // 사용자 관련 데이터베이스 접근을 위한 저장소
+    private final NicknameCache nicknameCache; // 입찰자 닉네임 캐시
     private final ItemRepository itemRepository; // 상품 관련 데이터베이스 접근을 위한 저장소
+    private final BidSequencer bidSequencer; // 상품별 입찰 순차 처리기
+    private final BatchingBidWriter bidWriter; // 입찰 기록을 모아서 저장하는 writer
+    private final ApplicationEventPublisher eventPublisher; // 입찰 성공 이벤트 발행
+    private final ItemCache itemCache; // 상품 조회 캐시 (최고가가 바뀌면 제거)
 
     @Autowired // 의존성 주입을 통해 저장소들을 초기화
-    public BidService(BidRepository bidRepository, UserRepository userRepository, ItemRepository itemRepository) {
+    public BidService(BidRepository bidRepository, NicknameCache nicknameCache, ItemRepository itemRepository,
+                      BidSequencer bidSequencer, BatchingBidWriter bidWriter, ApplicationEventPublisher eventPublisher,
+                      ItemCache itemCache) {
         this.bidRepository = bidRepository;
-        this.userRepository = userRepository;
+        this.nicknameCache = nicknameCache;
         this.itemRepository = itemRepository;
+        this.bidSequencer = bidSequencer;
+        this.bidWriter = bidWriter;
+        this.eventPublisher = eventPublisher;
+        this.itemCache = itemCache;
     }
 
     // 새로운 입찰 기록을 저장하는 메서드
+    // 상품의 최고가 갱신은 조건부 업데이트 한 번으로 처리하고, 성공한 입찰만 기록으로 저장
     public Bid placeBid(String itemId, String bidderId, int bidAmount) {
+        return placeBid(itemId, bidderId, bidAmount, null);
+    }
+
+    // idempotencyKey가 있으면 입찰 기록에 함께 저장 (유일 인덱스로 같은 키의 입찰이 두 번 저장되지 않음)
+    public Bid placeBid(String itemId, String bidderId, int bidAmount, String idempotencyKey) {
+        return placeBid(itemId, bidderId, bidAmount, idempotencyKey, false);
+    }
+
+    // 자동 입찰이 대신 넣는 입찰 (입찰 기록과 BidPlacedEvent에 자동 입찰로 표시됨)
+    public Bid placeProxyBid(String itemId, String bidderId, int bidAmount) {
+        return placeBid(itemId, bidderId, bidAmount, null, true);
+    }
+
+    private Bid placeBid(String itemId, String bidderId, int bidAmount, String idempotencyKey, boolean proxy) {
+        if (bidSequencer.isEnabled()) {
+            return bidSequencer.placeBid(itemId, bidderId, bidAmount, idempotencyKey, proxy); // 상품별 워커가 순서대로 처리
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // 마감 전이고 (현재 최고가 + 입찰 단위) 이상인 경우에만 최고가 갱신 (동시 입찰 시에도 값이 유실되지 않음)
+        Item previous = itemRepository.raiseLastPrice(itemId, bidAmount, now)
+                .orElseThrow(() -> rejectionFor(itemId, bidAmount, now)); // 거절 사유를 확인하여 예외 발생
+        itemCache.invalidate(itemId); // 캐시에 남은 이전 최고가 제거
+
+        Bid savedBid = insertOrRevert(itemRepository, itemCache, bidWriter, previous,
+                newBid(itemId, bidderId, bidAmount, idempotencyKey, proxy)); // 입찰 기록을 데이터베이스에 저장
+        eventPublisher.publishEvent(new BidPlacedEvent(savedBid, previous.getBidCount() + 1)); // 실시간 전송, 순위 갱신 등에 입찰 성공 알림
+        return savedBid; // 저장된 입찰 기록 반환
+    }
+
+    // 최고가를 올린 입찰의 기록을 저장하고, 저장에 실패하면 올린 최고가와 입찰 횟수를 되돌린 뒤 예외를 그대로 전달
+    // (기록 없는 최고가가 남으면 이후 입찰이 실제로 없었던 금액을 기준으로 거절되고, 입찰 횟수와 기록 수가 달라짐)
+    static Bid insertOrRevert(ItemRepository itemRepository, ItemCache itemCache, BatchingBidWriter bidWriter,
+                              Item previous, Bid bid) {
+        try {
+            return bidWriter.insert(bid);
+        } catch (RuntimeException e) {
+            try {
+                itemRepository.revertLastPrice(bid.getItemId(), bid.getBidAmount(), previous.getBidCount() + 1,
+                        previous.getLastPrice());
+            } catch (RuntimeException revertFailure) {
+                e.addSuppressed(revertFailure);
+            }
+            itemCache.invalidate(bid.getItemId());
+            throw e;
+        }
+    }
+
+    // 새로운 입찰 기록 객체를 만드는 메서드
+    static Bid newBid(String itemId, String bidderId, int bidAmount, String idempotencyKey) {
+        return newBid(itemId, bidderId, bidAmount, idempotencyKey, false);
+    }
+
+    static Bid newBid(String itemId, String bidderId, int bidAmount, String idempotencyKey, boolean proxy) {
         Bid bid = new Bid(); // 새로운 Bid 객체 생성
         bid.setItemId(itemId); // 입찰한 상품의 ID 설정
         bid.setBidderId(bidderId); // 입찰자의 ID 설정
         bid.setBidAmount(bidAmount); // 입찰 금액 설정
         bid.setBidTime(new Date()); // 입찰 시간을 현재 시간으로 설정
-        Bid savedBid = bidRepository.save(bid); // 입찰 기록을 데이터베이스에 저장
+        bid.setIdempotencyKey(idempotencyKey); // 재전송 확인용 키 (없으면 null)
+        bid.setProxy(proxy); // 자동 입찰 여부
+        return bid;
+    }
 
-        // 상품의 현재 최고가 업데이트
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item을 찾을 수 없음")); // 상품이 존재하지 않을 경우 예외 처리
-        item.setLastPrice(bidAmount); // 상품의 현재 최고가를 입찰 금액으로 설정
-        itemRepository.save(item); // 업데이트된 상품 정보를 데이터베이스에 저장
+    // 같은 Idempotency-Key로 이미 저장된 입찰을 찾는 메서드
+    public Optional<Bid> findByIdempotencyKey(String idempotencyKey) {
+        return bidRepository.findByIdempotencyKey(idempotencyKey);
+    }
 
-        return savedBid; // 저장된 입찰 기록 반환
+    // 입찰이 거절된 경우에만 상품을 조회하여 거절 사유를 판단하는 메서드
+    private BidRejectedException rejectionFor(String itemId, int bidAmount, LocalDateTime now) {
+        Optional<Item> optionalItem = itemRepository.findById(itemId);
+        if (optionalItem.isEmpty()) {
+            return BidRejectedException.itemNotFound(itemId);
+        }
+
+        Item item = optionalItem.get();
+        if (item.getEndDateTime() == null || !item.getEndDateTime().isAfter(now)) {
+            return BidRejectedException.auctionEnded(itemId);
+        }
+
+        int minimumBid = item.getLastPrice() + item.getBidUnit(); // 현재 입찰 가능한 최소 금액
+        return BidRejectedException.bidTooLow(bidAmount, minimumBid);
     }
 
-    // 모든 입찰 기록을 가져오는 메서드
-    public List<Bid> getAllBids() {
-        return bidRepository.findAll(); // 모든 입찰 기록을 데이터베이스에서 조회하여 반환
+    // 모든 입찰 기록을 페이지 단위로 가져오는 메서드 (페이지 크기는 MAX_PAGE_SIZE로 제한)
+    public List<Bid> getAllBids(int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), clampPageSize(size), Sort.by("_id"));
+        return bidRepository.findAll(pageRequest).getContent(); // 해당 페이지의 입찰 기록만 조회하여 반환
     }
 
-    // 특정 상품의 입찰 기록을 가져오는 메서드(입찰자의 id를 통해 닉네임 가져오기)
-    public List<BidWithNickname> getBidsByItemId(String itemId) {
-        List<Bid> bids = bidRepository.findByItemId(itemId); // 현재 상품 ID를 통해 입찰 기록을 가져옴
-        return bids.stream()
+    // 특정 상품의 입찰 기록을 한 페이지 가져오는 메서드(입찰자의 id를 통해 닉네임 가져오기)
+    // cursor는 이전 페이지 응답의 nextCursor이며, null이면 첫 페이지를 조회
+    public BidHistoryPage getBidsByItemId(String itemId, BidOrder order, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        Bid after = cursor != null ? decodeCursor(cursor, order) : null; // 이전 페이지 마지막 입찰 위치
+
+        // 목록보다 먼저 입찰 횟수를 읽어, 그 사이 들어온 입찰은 다음 요청에서 버전이 달라 다시 조회되도록 함
+        // (입찰 기록 저장에 실패하면 올린 입찰 횟수를 되돌리므로 입찰 횟수가 곧 목록의 버전)
+        Integer version = getBidCount(itemId).orElse(null);
+
+        // 다음 페이지가 있는지 알기 위해 한 개 더 조회
+        List<Bid> bids = bidRepository.findPageByItemId(itemId, order, after, pageSize + 1);
+        String nextCursor = null;
+        if (bids.size() > pageSize) {
+            bids = bids.subList(0, pageSize);
+            nextCursor = encodeCursor(bids.get(pageSize - 1), order);
+        }
+
+        // 페이지에 나온 입찰자들의 닉네임을 한 번에 조회 (캐시에 없는 입찰자만 데이터베이스에서 조회)
+        Map<String, String> nicknames = nicknameCache.getNicknames(
+                bids.stream().map(Bid::getBidderId).collect(Collectors.toSet()));
+
+        List<BidWithNickname> bidsWithNickname = bids.stream()
                 .map(bid -> {
-                    User user = userRepository.findById(bid.getBidderId()).orElse(null); // 입찰자의 id를 통해 입찰자 정보를 가져옴
-                    String nickname = user != null ? user.getNickname() : "알수없음"; // 닉네임 설정
+                    String nickname = nicknames.getOrDefault(bid.getBidderId(), NicknameCache.UNKNOWN_NICKNAME); // 닉네임 설정
                     return new BidWithNickname(bid, nickname); // Bid 정보와 닉네임을 합쳐 새로운 객체로 반환
                 })
-                .collect(Collectors.toList()); // 결과를 리스트로 수집하여 반환
+                .collect(Collectors.toList()); // 결과를 리스트로 수집
+        return new BidHistoryPage(bidsWithNickname, nextCursor, version);
+    }
+
+    // 상품의 입찰 횟수 (입찰 기록 목록의 버전, 상품이 없으면 빈 Optional)
+    public Optional<Integer> getBidCount(String itemId) {
+        return itemCache.get(itemId).map(Item::getBidCount);
+    }
+
+    // 입찰 기록 한 페이지의 ETag 값: 같은 입찰 횟수라도 정렬, cursor, 페이지 크기가 다르면 다른 페이지
+    // cursor 형식이 잘못되었으면 IllegalArgumentException
+    public static String historyTag(int version, BidOrder order, String cursor, int size) {
+        if (cursor != null) {
+            decodeCursor(cursor, order); // URL-safe Base64만 허용되므로 그대로 ETag에 넣을 수 있음
+        }
+        return version + "-" + order.name().toLowerCase() + "-" + clampPageSize(size) + (cursor != null ? "-" + cursor : "");
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    // 페이지 마지막 입찰의 정렬 키(금액, 시간, ID)를 클라이언트에 전달할 문자열로 변환
+    private static String encodeCursor(Bid bid, BidOrder order) {
+        String raw = order.name() + "|" + bid.getBidAmount() + "|" + bid.getBidTime().getTime() + "|" + bid.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 클라이언트가 보낸 cursor를 정렬 키로 복원 (형식이 잘못되었으면 IllegalArgumentException)
+    private static Bid decodeCursor(String cursor, BidOrder order) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length != 4 || !parts[0].equals(order.name())) {
+            throw new IllegalArgumentException("Invalid cursor for order " + order);
+        }
+        Bid after = new Bid();
+        after.setBidAmount(Integer.parseInt(parts[1]));
+        after.setBidTime(new Date(Long.parseLong(parts[2])));
+        after.setId(parts[3]);
+        return after;
+    }
+
+    // 입찰 기록 한 페이지와 다음 페이지 cursor를 담는 내부 클래스
+    public static class BidHistoryPage {
+        private final List<BidWithNickname> bids; // 현재 페이지의 입찰 기록
+        private final String nextCursor; // 다음 페이지 cursor (마지막 페이지면 null)
+        private final Integer version; // 목록 조회 직전의 입찰 횟수 (상품이 없으면 null)
+
+        public BidHistoryPage(List<BidWithNickname> bids, String nextCursor, Integer version) {
+            this.bids = bids;
+            this.nextCursor = nextCursor;
+            this.version = version;
+        }
+
+        public List<BidWithNickname> getBids() {
+            return bids;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public Integer getVersion() {
+            return version;
+        }
     }
 
     // Bid와 닉네임을 포함하는 내부 클래스 (상품 상세 페이지에서 입찰 기록을 가져올 때 사용)
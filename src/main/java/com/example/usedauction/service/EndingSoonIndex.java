@@ -0,0 +1,161 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.service.ItemService.ItemCard;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// 진행 중인 경매를 종료 시간 순으로 정렬해 둔 메모리 색인 ("곧 끝나는 경매" 목록용)
+// 전체 목록과 지역별 목록을 (종료 시간, 상품 ID) 순서의 skip list로 두고, 상품 ID별 카드는 map에 보관
+// 상품 하나의 변경(추가, 수정, 삭제)은 map의 compute 안에서 목록과 함께 바꾸며, 조회는 잠금 없이 목록을 읽음
+// (조회 중에 바뀌는 상품은 카드의 종료 시간이 목록과 다르면 건너뜀)
+public class EndingSoonIndex {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparingLong(Key::endMillis).thenComparing(Key::itemId);
+
+    private final ConcurrentHashMap<String, ItemCard> cards = new ConcurrentHashMap<>(); // 상품 ID -> 카드
+    private final ConcurrentSkipListSet<Key> all = new ConcurrentSkipListSet<>(KEY_ORDER); // 전체 경매
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Key>> byRegion = new ConcurrentHashMap<>(); // 지역별 경매
+
+    // 상품 카드를 넣거나 바꿈 (종료 시간이 없으면 제거)
+    // 바꾸는 카드를 읽은 뒤 입찰 이벤트가 먼저 반영되었을 수 있으므로 현재가는 높은 쪽을 유지
+    public void put(ItemCard card) {
+        if (card.getEndDateTime() == null) {
+            remove(card.getId());
+            return;
+        }
+        cards.compute(card.getId(), (id, old) -> {
+            ItemCard next = card;
+            if (old != null) {
+                unlink(old);
+                if (old.getLastPrice() > card.getLastPrice()) {
+                    next = new ItemCard(card.getId(), card.getTitle(), card.getImage(), old.getLastPrice(),
+                            card.getEndDateTime(), card.getRegion());
+                }
+            }
+            link(next);
+            return next;
+        });
+    }
+
+    // 같은 상품이 없을 때만 넣고, 넣었으면 true 반환 (서버 시작 시 데이터베이스에서 읽은 값이 더 최근 변경을 덮어쓰지 않도록)
+    public boolean putIfAbsent(ItemCard card) {
+        if (card.getEndDateTime() == null) {
+            return false;
+        }
+        boolean[] added = new boolean[1];
+        cards.computeIfAbsent(card.getId(), id -> {
+            link(card);
+            added[0] = true;
+            return card;
+        });
+        return added[0];
+    }
+
+    public void remove(String itemId) {
+        cards.computeIfPresent(itemId, (id, old) -> {
+            unlink(old);
+            return null;
+        });
+    }
+
+    // 입찰로 바뀐 현재 최고가 반영 (이벤트 순서가 바뀌어도 낮은 값으로 되돌리지 않음)
+    public void updateLastPrice(String itemId, int lastPrice) {
+        cards.computeIfPresent(itemId, (id, old) -> lastPrice <= old.getLastPrice() ? old
+                : new ItemCard(old.getId(), old.getTitle(), old.getImage(), lastPrice, old.getEndDateTime(), old.getRegion()));
+    }
+
+    // 종료 시간이 now 이후인 경매를 종료 시간이 가까운 순으로 최대 limit개 조회 (region이 null이면 전체 지역)
+    // after는 이전 페이지의 nextCursor이며, null이면 첫 페이지
+    public Page page(String region, String after, LocalDateTime now, int limit) {
+        NavigableSet<Key> keys = region == null ? all : byRegion.get(region);
+        if (keys == null) {
+            return new Page(List.of(), null);
+        }
+        Key start = new Key(toMillis(now) + 1, ""); // 종료 시간이 지난(마감 처리 전인) 경매 제외
+        if (after != null) {
+            Key cursor = decodeCursor(after);
+            if (KEY_ORDER.compare(cursor, start) >= 0) {
+                keys = keys.tailSet(cursor, false);
+                start = null;
+            }
+        }
+        if (start != null) {
+            keys = keys.tailSet(start, true);
+        }
+
+        List<ItemCard> items = new ArrayList<>(limit);
+        Key last = null;
+        for (Key key : keys) {
+            ItemCard card = cards.get(key.itemId());
+            if (card == null || toMillis(card.getEndDateTime()) != key.endMillis()
+                    || (region != null && !region.equals(card.getRegion()))) {
+                continue; // 조회 중에 바뀐 상품
+            }
+            if (items.size() == limit) {
+                return new Page(items, encodeCursor(last)); // 다음 페이지가 있음
+            }
+            items.add(card);
+            last = key;
+        }
+        return new Page(items, null);
+    }
+
+    public int size() {
+        return cards.size();
+    }
+
+    private void link(ItemCard card) {
+        Key key = keyOf(card);
+        all.add(key);
+        if (card.getRegion() != null) {
+            byRegion.computeIfAbsent(card.getRegion(), region -> new ConcurrentSkipListSet<>(KEY_ORDER)).add(key);
+        }
+    }
+
+    private void unlink(ItemCard card) {
+        Key key = keyOf(card);
+        all.remove(key);
+        if (card.getRegion() != null) {
+            NavigableSet<Key> regionKeys = byRegion.get(card.getRegion());
+            if (regionKeys != null) {
+                regionKeys.remove(key);
+            }
+        }
+    }
+
+    private static Key keyOf(ItemCard card) {
+        return new Key(toMillis(card.getEndDateTime()), card.getId());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // 페이지 마지막 경매의 (종료 시간, 상품 ID)를 cursor 문자열로 변환
+    private static String encodeCursor(Key key) {
+        return key.endMillis() + "_" + key.itemId();
+    }
+
+    // cursor 문자열을 (종료 시간, 상품 ID)로 복원 (형식이 잘못되었으면 IllegalArgumentException)
+    private static Key decodeCursor(String cursor) {
+        int separator = cursor.indexOf('_');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new Key(Long.parseLong(cursor.substring(0, separator)), cursor.substring(separator + 1));
+    }
+
+    private record Key(long endMillis, String itemId) {
+    }
+
+    // 경매 목록 한 페이지와 다음 페이지 cursor (마지막 페이지면 null)
+    public record Page(List<ItemCard> items, String nextCursor) {
+    }
+}
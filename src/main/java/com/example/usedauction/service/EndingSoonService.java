@@ -0,0 +1,137 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.ItemRepository;
+import com.example.usedauction.service.ItemService.ItemCard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// "곧 끝나는 경매" 목록 서비스 (메모리 종료 시간 색인, 요청마다 데이터베이스를 조회하지 않음)
+// 상품 추가/수정/삭제 시 ItemService가, 입찰과 경매 마감 시에는 이벤트로 색인을 바로 갱신하고, 서버 시작 시에는 데이터베이스에서 한 번 만듦
+@Service
+public class EndingSoonService {
+
+    private final ItemRepository itemRepository;
+    private final Object updateLock = new Object(); // 색인 갱신과 재생성의 순서를 맞추기 위한 잠금
+
+    private volatile EndingSoonIndex index = new EndingSoonIndex(); // 조회에 사용하는 색인
+    private volatile EndingSoonIndex building; // 재생성 중인 색인 (바꾸는 것은 updateLock 안에서만, 입찰 반영은 잠금 없이 null 여부 확인)
+    private Set<String> touchedWhileBuilding; // 재생성 중에 바뀐 상품 ID (데이터베이스에서 읽은 이전 값으로 덮어쓰지 않도록)
+
+    @Autowired
+    public EndingSoonService(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    // 서버 시작 시 백그라운드에서 색인 생성 (생성 중에도 서버는 요청을 받고, 그동안 추가/수정된 상품은 바로 반영됨)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread.ofVirtual().name("ending-soon-index-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // 데이터베이스의 진행 중인 경매로 색인을 새로 만든 뒤 교체하고, 색인된 경매 수를 반환
+    public int rebuild() {
+        EndingSoonIndex fresh = new EndingSoonIndex();
+        synchronized (updateLock) {
+            building = fresh;
+            touchedWhileBuilding = new HashSet<>();
+        }
+
+        long start = System.currentTimeMillis();
+        try (Stream<Item> items = itemRepository.streamOpenAuctionCards(LocalDateTime.now())) {
+            items.forEach(item -> {
+                synchronized (updateLock) {
+                    if (!touchedWhileBuilding.contains(item.getId())) {
+                        fresh.putIfAbsent(new ItemCard(item));
+                    }
+                }
+            });
+            synchronized (updateLock) {
+                index = fresh;
+            }
+        } finally {
+            synchronized (updateLock) {
+                building = null;
+                touchedWhileBuilding = null;
+            }
+        }
+        System.out.println("Ending-soon index rebuilt: " + fresh.size() + " auctions in "
+                + (System.currentTimeMillis() - start) + " ms");
+        return fresh.size();
+    }
+
+    // 새로 등록되었거나 수정된 경매를 색인에 넣거나 바꿈 (마감된 경매는 제거)
+    public void add(Item item) {
+        if (item.isClosed()) {
+            remove(item.getId());
+            return;
+        }
+        ItemCard card = new ItemCard(item);
+        synchronized (updateLock) {
+            index.put(card);
+            if (building != null) {
+                building.put(card);
+                touchedWhileBuilding.add(item.getId());
+            }
+        }
+    }
+
+    // 삭제되었거나 마감된 경매를 색인에서 제거
+    public void remove(String itemId) {
+        synchronized (updateLock) {
+            index.remove(itemId);
+            if (building != null) {
+                building.remove(itemId);
+                touchedWhileBuilding.add(itemId);
+            }
+        }
+    }
+
+    // 성공한 입찰의 금액을 현재 최고가로 반영
+    // (재생성 중인 색인에 아직 없는 상품은 데이터베이스에서 읽을 때 이미 올라간 최고가를 읽음)
+    // 재생성 중이 아니면 잠금 없이 반영 (카드별 갱신은 색인 안에서 원자적이므로 모든 상품의 입찰이 한 잠금을 기다리지 않음)
+    // 확인한 뒤에 재생성이 시작되어도 최고가는 이미 데이터베이스에 저장되어 있어 새 색인이 그 값을 읽음
+    @EventListener
+    public void onBidPlaced(BidPlacedEvent event) {
+        String itemId = event.getBid().getItemId();
+        int amount = event.getBid().getBidAmount();
+        if (building == null) {
+            index.updateLastPrice(itemId, amount);
+            return;
+        }
+        synchronized (updateLock) {
+            index.updateLastPrice(itemId, amount);
+            if (building != null) {
+                building.updateLastPrice(itemId, amount);
+            }
+        }
+    }
+
+    @EventListener
+    public void onAuctionClosed(AuctionClosedEvent event) {
+        remove(event.getItemId());
+    }
+
+    // 종료 시간이 가까운 순으로 경매 카드 한 페이지 조회 (region이 null이면 전체, cursor 형식이 잘못되었으면 IllegalArgumentException)
+    public EndingSoonIndex.Page getEndingSoon(String region, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), ItemService.MAX_PAGE_SIZE);
+        return index.page(region, cursor, LocalDateTime.now(), limit);
+    }
+
+    public int getIndexedCount() {
+        return index.size();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.usedauction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Idempotency-Key별 처리 결과를 보관하는 메모리 저장소 (크기 제한, 일정 시간 후 만료)
+// 같은 키로 다시 들어온 요청은 처음 요청의 결과를 그대로 돌려받고, 동시에 들어온 같은 키의 요청은 처음 요청의 처리를 기다림
+// 서버 재시작 등으로 메모리에 없는 키는 입찰 기록의 유일 인덱스로 확인 (BidController 참고)
+@Service
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 128; // 허용하는 Idempotency-Key 최대 길이
+
+    private final Cache<String, CompletableFuture<Object>> responses;
+
+    @Autowired
+    public IdempotencyStore(@Value("${auction.bid.idempotency.max-size:100000}") long maxSize,
+                            @Value("${auction.bid.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    // 키로 저장된 결과가 있으면 반환하고, 없으면 action을 한 번만 실행하여 결과를 저장
+    // cacheable이 false인 결과(일시적인 실패 등)와 예외는 저장하지 않으므로 같은 키로 다시 시도할 수 있음
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> action, Predicate<T> cacheable) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = responses.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            try {
+                return (T) existing.join(); // 처음 요청의 결과 (처리 중이면 끝날 때까지 기다림)
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            responses.asMap().remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+        if (!cacheable.test(result)) {
+            responses.asMap().remove(key, created);
+        }
+        created.complete(result);
+        return result;
+    }
+
+    public long size() {
+        return responses.estimatedSize();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.usedauction.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// 이미지 파일을 내용의 SHA-256 해시를 이름으로 디스크에 저장하는 저장소 (같은 내용은 한 번만 저장)
+// 업로드는 고정 크기 버퍼로 임시 파일에 흘려 쓰면서 해시를 계산한 뒤 최종 위치로 옮기므로, 파일 크기와 관계없이 힙 사용량이 일정함
+// 저장된 파일은 바뀌지 않으므로 해시(이미지 ID)를 그대로 ETag와 영구 캐시에 사용할 수 있음
+// 파일 위치: {dir}/{해시 앞 2글자}/{해시}, 썸네일은 {dir}/thumbnails/{크기}/{해시 앞 2글자}/{해시}.jpg (원본 해시로 한 번만 생성)
+@Service
+public class ImageStore {
+
+    private static final Pattern IMAGE_ID = Pattern.compile("[0-9a-f]{64}"); // SHA-256 hex
+
+    private final Path root; // 저장 디렉터리
+    private final Path tempDir; // 업로드 중인 임시 파일 디렉터리 (최종 위치로 원자적으로 옮기기 위해 같은 파일 시스템에 둠)
+
+    public ImageStore(@Value("${auction.image-store.dir:images}") String dir) {
+        this.root = Path.of(dir).toAbsolutePath();
+        this.tempDir = root.resolve("tmp");
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create image store directory " + root, e);
+        }
+    }
+
+    // 스트림 내용을 저장하고 이미지 ID(내용 해시)를 반환 (스트림은 닫지 않음)
+    public String store(InputStream in) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                new DigestInputStream(in, digest).transferTo(out); // 고정 크기 버퍼로 복사
+            }
+
+            String imageId = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(imageId);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                // 같은 내용을 동시에 올려도 결과 파일은 같으므로 덮어써도 됨
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return imageId;
+        } finally {
+            Files.deleteIfExists(temp); // 이미 있는 내용이었거나 실패한 경우 임시 파일 제거
+        }
+    }
+
+    // 저장된 이미지 파일 경로 (ID 형식이 잘못되었거나 없으면 빈 Optional)
+    public Optional<Path> find(String imageId) {
+        if (imageId == null || !IMAGE_ID.matcher(imageId).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(imageId);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // 저장된 썸네일 파일 경로 (ID 형식이 잘못되었거나 아직 없으면 빈 Optional)
+    public Optional<Path> findThumbnail(String imageId, int size) {
+        if (imageId == null || !IMAGE_ID.matcher(imageId).matches()) {
+            return Optional.empty();
+        }
+        Path path = thumbnailPathOf(imageId, size);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // 썸네일을 임시 파일에 쓴 뒤 최종 위치로 옮김 (읽는 쪽은 완성된 파일만 보게 됨)
+    public void storeThumbnail(String imageId, int size, ContentWriter writer) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "thumbnail-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.writeTo(out);
+            }
+            Path target = thumbnailPathOf(imageId, size);
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 파일 앞부분으로 이미지 형식을 판단하여 Content-Type 반환 (알 수 없으면 application/octet-stream)
+    public String contentType(Path path) throws IOException {
+        byte[] head = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(path)) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        if (read >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (read >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "image/png";
+        }
+        if (read >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F') {
+            return "image/gif";
+        }
+        if (read >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+
+    private Path pathOf(String imageId) {
+        return root.resolve(imageId.substring(0, 2)).resolve(imageId);
+    }
+
+    private Path thumbnailPathOf(String imageId, int size) {
+        return root.resolve("thumbnails").resolve(Integer.toString(size)).resolve(imageId.substring(0, 2)).resolve(imageId + ".jpg");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM이 지원하는 알고리즘
+        }
+    }
+
+    // 파일 내용을 쓰는 함수 (storeThumbnail에서 사용)
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.ItemRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 상품 ID -> 상품 read-through 캐시 (대략적인 메모리 크기로 제한)
+// 상품을 바꾸는 곳(상품 수정/삭제, 낙찰자 설정, 입찰, 경매 마감)은 데이터베이스에 쓴 직후 invalidate를 호출
+// 다른 서버에서 바뀐 상품을 위해 일정 시간이 지나면 만료
+// 캐시에 없는 상품을 동시에 여러 요청이 조회하면 데이터베이스 조회는 처음 요청 하나만 하고 (single-flight),
+// 나머지 요청은 그 결과(또는 예외)를 함께 받음 (기다리는 시간은 load-timeout-ms로 제한)
+// 조회 중인 키를 invalidate하면 조회 중인 결과는 캐시에 들어가지 않으므로, 쓰기 전에 읽은 값이 쓰기 후에 캐시에 남지 않음
+// 적중/실패/제거 통계는 cache.* 지표(cache=items)로, 합쳐져서 생략된 조회 수는 auction.item.load.coalesced로 기록
+@Service
+public class ItemCache {
+
+    public static final String CACHE_NAME = "items"; // 지표의 cache 태그
+
+    private static final int ITEM_OVERHEAD_BYTES = 256; // 문자열을 제외한 상품 객체 크기 (대략)
+    private static final int STRING_OVERHEAD_BYTES = 48; // 문자열 객체 하나의 고정 크기 (대략)
+
+    private final ItemRepository itemRepository;
+    private final AsyncCache<String, Item> cache; // 값은 조회 중이거나 조회가 끝난 future
+    private final long loadTimeoutMillis; // 다른 요청의 조회 결과를 기다리는 최대 시간
+    private final Counter coalescedLoads; // 다른 요청의 조회 결과를 받아서 생략된 데이터베이스 조회 수
+
+    @Autowired
+    public ItemCache(ItemRepository itemRepository, MeterRegistry meterRegistry,
+                     @Value("${auction.item-cache.max-bytes:67108864}") long maxBytes,
+                     @Value("${auction.item-cache.ttl-seconds:300}") long ttlSeconds,
+                     @Value("${auction.item-cache.load-timeout-ms:2000}") long loadTimeoutMillis) {
+        this.itemRepository = itemRepository;
+        this.loadTimeoutMillis = loadTimeoutMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String id, Item item) -> weigh(item))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        this.coalescedLoads = meterRegistry.counter("auction.item.load.coalesced");
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // 캐시에 없으면 데이터베이스에서 조회하여 캐시에 넣음
+    // 같은 상품을 조회 중인 요청이 있으면 새로 조회하지 않고 그 결과를 기다림 (시간 초과 시 ItemLoadTimeoutException)
+    // 조회에 실패하면 기다리던 요청 모두에게 같은 예외가 전달되고, 실패한 결과는 캐시에 남지 않음
+    // 없는 상품은 캐시하지 않음
+    // 반환된 상품은 다른 요청과 공유되므로 수정하지 말 것
+    public Optional<Item> get(String itemId) {
+        if (itemId == null) {
+            return Optional.empty();
+        }
+
+        CompletableFuture<Item> created = new CompletableFuture<>();
+        CompletableFuture<Item> future = cache.get(itemId, (id, executor) -> created);
+        if (future == created) {
+            // 처음 조회한 요청이 자신의 스레드에서 데이터베이스 조회 (캐시 내부 잠금 밖에서 실행)
+            try {
+                Item item = itemRepository.findById(itemId).orElse(null);
+                created.complete(item); // null이면 캐시에서 제거됨
+                return Optional.ofNullable(item);
+            } catch (RuntimeException | Error e) {
+                created.completeExceptionally(e); // 실패한 future는 캐시에서 제거됨
+                throw e;
+            }
+        }
+        if (!future.isDone()) {
+            coalescedLoads.increment(); // 조회 중인 결과를 함께 사용
+        }
+        return Optional.ofNullable(await(itemId, future));
+    }
+
+    // 상품이 바뀌었거나 삭제되었을 때 캐시에서 제거
+    public void invalidate(String itemId) {
+        if (itemId != null) {
+            cache.synchronous().invalidate(itemId);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public double getCoalescedLoads() {
+        return coalescedLoads.count();
+    }
+
+    // 다른 요청의 조회 결과를 기다림 (조회 중 발생한 예외는 그대로 다시 던짐)
+    private Item await(String itemId, CompletableFuture<Item> future) {
+        try {
+            return future.get(loadTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ItemLoadTimeoutException(itemId, loadTimeoutMillis);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ItemLoadTimeoutException(itemId, loadTimeoutMillis);
+        }
+    }
+
+    // 상품 하나가 캐시에서 차지하는 대략적인 바이트 수 (문자열은 한 글자 2바이트로 계산)
+    static int weigh(Item item) {
+        long bytes = ITEM_OVERHEAD_BYTES
+                + stringBytes(item.getId()) + stringBytes(item.getTitle()) + stringBytes(item.getDescription())
+                + stringBytes(item.getUserId()) + stringBytes(item.getWinnerId()) + stringBytes(item.getRegion());
+        List<String> images = item.getItemImages();
+        if (images != null) {
+            for (String image : images) {
+                bytes += stringBytes(image);
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+}
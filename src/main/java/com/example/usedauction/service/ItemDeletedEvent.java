@@ -0,0 +1,14 @@
+package com.example.usedauction.service;
+
+// 상품이 삭제된 직후 발행되는 애플리케이션 이벤트 (삭제 요청 스레드에서 동기적으로 전달)
+public class ItemDeletedEvent {
+    private final String itemId; // 삭제된 상품 ID
+
+    public ItemDeletedEvent(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.usedauction.service;
+
+// 같은 상품을 먼저 조회 중인 요청의 결과를 기다리다 시간이 초과되었을 때 발생하는 예외
+public class ItemLoadTimeoutException extends RuntimeException {
+
+    public ItemLoadTimeoutException(String itemId, long timeoutMillis) {
+        super("Timed out after " + timeoutMillis + " ms waiting for item " + itemId);
+    }
+}
@@ -1,82 +1,168 @@
 package com.example.usedauction.service;
 
+import com.example.usedauction.model.ImageUrls; // 썸네일 주소
 import com.example.usedauction.model.Item; // Item 모델을 임포트
 import com.example.usedauction.repository.ItemRepository; // Item 리포지토리를 임포트
+import com.example.usedauction.repository.ItemSearchFilter; // 상품 검색 조건
+import io.micrometer.core.instrument.MeterRegistry; // 검색 지표 기록
+import org.bson.types.ObjectId; // cursor(상품 ID) 형식 확인
 import org.springframework.beans.factory.annotation.Autowired; // Autowired 애너테이션을 임포트
+import org.springframework.context.ApplicationEventPublisher; // 상품 삭제 이벤트 발행
 import org.springframework.stereotype.Service; // Service 애너테이션을 임포트
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List; // 리스트를 임포트
 import java.util.Optional; // Optional을 임포트
+import java.util.concurrent.ConcurrentHashMap; // 쿼리 모양별 인덱스 확인 결과
+import java.util.stream.Collectors; // 스트림 결과 수집을 위한 클래스
 
 @Service // 이 클래스가 서비스 레이어의 빈(Bean)임을 나타냄
 public class ItemService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20; // 상품 목록 기본 페이지 크기
+    public static final int MAX_PAGE_SIZE = 100; // 한 번에 조회할 수 있는 최대 상품 수
+    private static final long PLAN_TTL_MILLIS = 10 * 60 * 1000L; // 쿼리 모양별 인덱스 확인 결과 보관 시간
+
+    private final ConcurrentHashMap<String, QueryPlan> queryPlans = new ConcurrentHashMap<>(); // 쿼리 모양별 사용 인덱스
+
+    @Autowired // 검색 지표 기록용
+    private MeterRegistry meterRegistry;
+
     @Autowired // 스프링이 ItemRepository의 인스턴스를 자동으로 주입
     private ItemRepository itemRepository;
 
+    @Autowired // 경매 종료 시간 등록을 위한 스케줄러
+    private AuctionCloseScheduler auctionCloseScheduler;
+
+    @Autowired // 제목/설명 키워드 검색 색인
+    private ItemTextSearchService itemTextSearchService;
+
+    @Autowired // 상품 조회 캐시 (상품을 바꾸는 메서드는 저장 직후 invalidate)
+    private ItemCache itemCache;
+
+    @Autowired // 곧 끝나는 경매 목록 색인
+    private EndingSoonService endingSoonService;
+
+    @Autowired // 상품 삭제를 메모리 순위 등에 알림
+    private ApplicationEventPublisher eventPublisher;
+
     // 모든 아이템을 조회하여 반환하는 메서드
     public List<Item> getAllItems() {
         return itemRepository.findAll(); // 리포지토리의 findAll 메서드를 호출하여 모든 아이템을 조회
     }
 
-    // 특정 아이템 ID로 아이템을 조회하는 메서드
+    // 상품 목록을 카드 필드만 담아 최신 순으로 한 페이지 가져오는 메서드
+    // cursor는 이전 페이지 응답의 nextCursor(마지막 상품 ID)이며, null이면 첫 페이지를 조회
+    public ItemCatalogPage getItemCatalog(String cursor, int size, boolean excludeClosed) {
+        ItemSearchFilter filter = new ItemSearchFilter();
+        if (excludeClosed) {
+            filter.setStatus(ItemSearchFilter.Status.ACTIVE); // 끝난 경매 제외
+        }
+        return searchItems(filter, cursor, size);
+    }
+
+    // 지역, 가격 범위, 진행 상태, 판매자 조건으로 상품을 검색하여 한 페이지 가져오는 메서드
+    public ItemCatalogPage searchItems(ItemSearchFilter filter, String cursor, int size) {
+        if (cursor != null && !ObjectId.isValid(cursor)) {
+            throw new IllegalArgumentException("Invalid cursor"); // 상품 ID 형식이 아닌 cursor
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+
+        // 다음 페이지가 있는지 알기 위해 한 개 더 조회
+        List<Item> items = itemRepository.findCardPage(filter, cursor, now, pageSize + 1);
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            nextCursor = items.get(pageSize - 1).getId();
+        }
+
+        List<ItemCard> cards = items.stream().map(ItemCard::new).collect(Collectors.toList());
+        return new ItemCatalogPage(cards, nextCursor, queryIndex(filter, cursor, now, pageSize + 1));
+    }
+
+    // 쿼리 모양별로 사용된 인덱스 이름을 반환 (explain은 모양마다 일정 시간에 한 번만 실행)
+    private String queryIndex(ItemSearchFilter filter, String cursor, LocalDateTime now, int limit) {
+        String shape = filter.shape() + (cursor != null ? ",after" : "");
+        long nowMillis = System.currentTimeMillis();
+        QueryPlan plan = queryPlans.get(shape);
+        if (plan == null || plan.expiresAt() < nowMillis) {
+            try {
+                plan = new QueryPlan(itemRepository.explainCardPage(filter, cursor, now, limit), nowMillis + PLAN_TTL_MILLIS);
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // explain 실패는 검색 결과에 영향을 주지 않음
+                plan = new QueryPlan("UNKNOWN", nowMillis + PLAN_TTL_MILLIS);
+            }
+            if (plan.index().equals("COLLSCAN")) {
+                System.out.println("Item search uses a collection scan: " + shape); // 인덱스가 없는 쿼리 모양 경고
+            }
+            queryPlans.put(shape, plan);
+        }
+        meterRegistry.counter("auction.item.search", "index", plan.index()).increment(); // 인덱스별 검색 횟수
+        return plan.index();
+    }
+
+    // 특정 아이템 ID로 아이템을 조회하는 메서드 (캐시에 없으면 데이터베이스에서 조회)
     public Optional<Item> getItemById(String id) {
-        return itemRepository.findById(id); // 리포지토리의 findById 메서드를 호출하여 특정 아이템을 조회
+        return itemCache.get(id);
     }
 
     // 새로운 아이템을 추가하는 메서드
     public Item addItem(Item item) {
-        return itemRepository.save(item); // 리포지토리의 save 메서드를 호출하여 새로운 아이템을 저장
+        Item savedItem = itemRepository.save(item); // 리포지토리의 save 메서드를 호출하여 새로운 아이템을 저장
+        auctionCloseScheduler.schedule(savedItem.getId(), savedItem.getEndDateTime()); // 경매 종료 시간 등록
+        itemTextSearchService.index(savedItem); // 키워드 검색 색인에 추가
+        endingSoonService.add(savedItem); // 곧 끝나는 경매 목록에 추가
+        return savedItem;
     }
 
     // 특정 아이템 ID로 아이템을 삭제하는 메서드
     public void deleteItem(String id) {
         itemRepository.deleteById(id); // 리포지토리의 deleteById 메서드를 호출하여 특정 아이템을 삭제
+        itemCache.invalidate(id); // 캐시에서 제거
+        auctionCloseScheduler.cancel(id); // 등록된 경매 종료 시간 취소
+        itemTextSearchService.remove(id); // 키워드 검색 색인에서 제거
+        endingSoonService.remove(id); // 곧 끝나는 경매 목록에서 제거
+        eventPublisher.publishEvent(new ItemDeletedEvent(id)); // 상위 입찰 순위 등 상품별 메모리 상태 제거
     }
 
     // 특정 아이템의 정보를 업데이트하는 메서드
     public Item updateItem(String id, String title, String description, String region) {
-        // 기존 아이템을 찾아 Optional로 반환
-        Optional<Item> optionalItem = itemRepository.findById(id);
-
-        // 기존 아이템이 존재하는 경우 수정 후 저장
-        if (optionalItem.isPresent()) {
-            Item existingItem = optionalItem.get();
-            existingItem.setTitle(title); // 제목 수정
-            existingItem.setDescription(description); // 설명 수정
-            existingItem.setRegion(region); // 지역 수정
-
-            return itemRepository.save(existingItem); // 수정된 아이템을 저장
-        } else {
-            throw new RuntimeException("Item not found with id " + id); // 아이템을 찾지 못했을 경우 예외 발생
-        }
+        return updateItem(id, title, description, region, null);
     }
 
-    // 경매 우승자를 업데이트하는 메서드
-    public void updateWinner(String itemId, String winnerId, int lastPrice) {
-        Optional<Item> optionalItem = itemRepository.findById(itemId); // 아이템 ID로 아이템을 조회
-        if (optionalItem.isEmpty()) {
-            throw new RuntimeException("Item not found"); // 아이템을 찾지 못했을 경우 예외 발생
+    // expectedVersion이 있으면 상품 버전이 같을 때만 수정 (다르면 ItemVersionConflictException)
+    // 바꾸는 필드만 한 번의 요청으로 $set 하므로 이미지 목록 등은 다시 쓰지 않고, 동시에 바뀐 최고가도 덮어쓰지 않음
+    public Item updateItem(String id, String title, String description, String region, Long expectedVersion) {
+        Optional<Item> updated = itemRepository.updateDetails(id, title, description, region, expectedVersion);
+        if (updated.isEmpty()) {
+            if (expectedVersion != null && itemRepository.existsById(id)) {
+                throw new ItemVersionConflictException(id); // 클라이언트가 본 이후 상품이 바뀜
+            }
+            throw new RuntimeException("Item not found with id " + id); // 아이템을 찾지 못했을 경우 예외 발생
         }
 
-        Item item = optionalItem.get();
-        item.setWinnerId(winnerId); // 우승자 ID 설정
-        item.setLastPrice(lastPrice); // 마지막 가격 설정
-        itemRepository.save(item); // 수정된 아이템을 저장
+        Item savedItem = updated.get();
+        itemCache.invalidate(id); // 캐시에 남은 이전 값 제거
+        if (!savedItem.isClosed()) {
+            auctionCloseScheduler.schedule(savedItem.getId(), savedItem.getEndDateTime()); // 경매 종료 시간 다시 등록
+        }
+        itemTextSearchService.index(savedItem); // 바뀐 제목/설명으로 검색 색인 갱신
+        endingSoonService.add(savedItem); // 곧 끝나는 경매 목록의 카드 갱신 (그 사이 마감되었으면 제거)
+        return savedItem;
     }
 
     // 특정 아이템의 현재 가격을 조회하는 메서드
     public int getCurrentPrice(String itemId) {
-        return itemRepository.findById(itemId)
+        return itemCache.get(itemId)
                 .map(Item::getLastPrice)  // 아이템의 마지막 가격을 가져옴
                 .orElseThrow(() -> new RuntimeException("Item not found"));  // 아이템을 찾지 못했을 경우 예외 발생
     }
 
-    // 특정 아이템의 남은 시간을 조회하는 메서드
+    // 특정 아이템의 남은 시간을 조회하는 메서드 (종료 시간은 캐시된 상품에서 가져옴)
     public Duration getRemainingTime(String itemId) {
-        return itemRepository.findById(itemId)
+        return itemCache.get(itemId)
                 .map(item -> {
                     LocalDateTime endDateTime = item.getEndDateTime();  // 아이템의 경매 종료 시간을 가져옴
                     if (endDateTime == null) {
@@ -86,4 +172,87 @@ public class ItemService {
                 })
                 .orElseThrow(() -> new RuntimeException("Item not found with id: " + itemId));  // 아이템을 찾지 못했을 경우 예외 발생
     }
+
+    // 상품 목록 한 페이지와 다음 페이지 cursor를 담는 내부 클래스
+    public static class ItemCatalogPage {
+        private final List<ItemCard> items; // 현재 페이지의 상품 카드
+        private final String nextCursor; // 다음 페이지 cursor (마지막 페이지면 null)
+        private final String queryIndex; // 조회에 사용된 인덱스 이름 (COLLSCAN이면 인덱스 없이 전체를 읽은 것)
+
+        public ItemCatalogPage(List<ItemCard> items, String nextCursor, String queryIndex) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+            this.queryIndex = queryIndex;
+        }
+
+        public List<ItemCard> getItems() {
+            return items;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public String getQueryIndex() {
+            return queryIndex;
+        }
+    }
+
+    private record QueryPlan(String index, long expiresAt) {
+    }
+
+    // 상품 목록 카드에 표시할 필드만 담는 내부 클래스 (설명과 나머지 이미지는 상세 조회에서 제공)
+    public static class ItemCard {
+        private final String id; // 상품 ID
+        private final String title; // 제목
+        private final String image; // 첫 번째 이미지 (없으면 null)
+        private final String thumbnail; // 첫 번째 이미지의 목록용 썸네일 주소 (이미지 저장소 이미지가 아니면 null)
+        private final int lastPrice; // 현재 최고가
+        private final LocalDateTime endDateTime; // 경매 종료 시간
+        private final String region; // 지역
+
+        public ItemCard(Item item) {
+            this(item.getId(), item.getTitle(),
+                    item.getItemImages() != null && !item.getItemImages().isEmpty() ? item.getItemImages().get(0) : null,
+                    item.getLastPrice(), item.getEndDateTime(), item.getRegion());
+        }
+
+        public ItemCard(String id, String title, String image, int lastPrice, LocalDateTime endDateTime, String region) {
+            this.id = id;
+            this.title = title;
+            this.image = image;
+            this.thumbnail = ImageUrls.thumbnailOf(image, ImageUrls.SMALL);
+            this.lastPrice = lastPrice;
+            this.endDateTime = endDateTime;
+            this.region = region;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getImage() {
+            return image;
+        }
+
+        public String getThumbnail() {
+            return thumbnail;
+        }
+
+        public int getLastPrice() {
+            return lastPrice;
+        }
+
+        public LocalDateTime getEndDateTime() {
+            return endDateTime;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+    }
 }
@@ -0,0 +1,251 @@
+package com.example.usedauction.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 상품 제목/설명의 메모리 역색인 (gram -> 상품 번호 목록)
+// 상품마다 추가된 순서대로 번호(ordinal)를 붙이므로 목록은 항상 정렬된 상태로 뒤에만 추가되고,
+// 검색은 가장 짧은 목록을 최근 번호부터 거꾸로 읽으며 나머지 목록을 건너뛰어(galloping) 교집합을 구하고,
+// 최고 점수의 결과가 limit개 모이면 바로 멈춤
+// 수정된 상품은 새 번호로 다시 넣고 이전 번호는 삭제 표시, 삭제 표시가 쌓이면 목록에서 한 번에 정리
+public class ItemTextIndex {
+
+    private static final int TITLE_WEIGHT = 3; // 제목에 있는 gram의 점수 (설명에만 있으면 1)
+    private static final int COMPACT_MIN_DELETED = 1_000; // 정리를 시작할 최소 삭제 표시 수
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Postings> postings = new HashMap<>(); // gram별 (번호 << 1 | 제목 포함 여부) 목록
+    private final Map<String, Integer> ordinals = new HashMap<>(); // 상품 ID -> 현재 번호
+    private final BitSet deleted = new BitSet(); // 삭제(또는 수정 전) 번호
+    private String[] itemIds = new String[1024]; // 번호 -> 상품 ID
+    private int nextOrdinal;
+    private int pendingDeletes; // 아직 목록에 남아 있는 삭제 표시 수
+
+    // 상품을 색인에 넣거나 다시 넣음 (제목/설명이 바뀐 경우)
+    public void put(String itemId, String title, String description) {
+        int[] titleGrams = NGramTokenizer.indexGrams(title);
+        int[] descriptionGrams = NGramTokenizer.indexGrams(description);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+            int ordinal = nextOrdinal++;
+            if (ordinal == itemIds.length) {
+                itemIds = Arrays.copyOf(itemIds, itemIds.length * 2);
+            }
+            itemIds[ordinal] = itemId;
+            ordinals.put(itemId, ordinal);
+
+            // 두 정렬된 gram 배열을 합치면서 gram마다 한 번만 추가
+            int t = 0;
+            int d = 0;
+            while (t < titleGrams.length || d < descriptionGrams.length) {
+                int gram;
+                boolean inTitle;
+                if (d >= descriptionGrams.length || (t < titleGrams.length && titleGrams[t] <= descriptionGrams[d])) {
+                    gram = titleGrams[t++];
+                    inTitle = true;
+                    if (d < descriptionGrams.length && descriptionGrams[d] == gram) {
+                        d++;
+                    }
+                } else {
+                    gram = descriptionGrams[d++];
+                    inTitle = false;
+                }
+                postings.computeIfAbsent(gram, key -> new Postings()).add((ordinal << 1) | (inTitle ? 1 : 0));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 상품을 색인에서 제거하고, 있었으면 true 반환
+    public boolean remove(String itemId) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(itemId);
+            compactIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 검색어의 모든 gram을 포함하는 상품을 점수 순(같으면 최근에 색인된 순)으로 최대 limit개 반환
+    public List<Hit> search(String query, int limit) {
+        int[] grams = NGramTokenizer.queryGrams(query);
+        if (grams.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return Collections.emptyList(); // 없는 gram이 하나라도 있으면 결과 없음
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            // 받을 수 있는 최고 점수 (제목에 한 번도 나오지 않은 gram은 1점이 최대)
+            int maxScore = 0;
+            for (Postings list : lists) {
+                maxScore += list.titleCount > 0 ? TITLE_WEIGHT : 1;
+            }
+
+            // 최근 번호부터 거꾸로 확인하므로, 점수가 같은 후보는 먼저 찾은 것이 항상 순위가 높음
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, HIT_ORDER.reversed()); // 가장 낮은 순위가 맨 앞
+            int[] positions = new int[lists.length];
+            for (int j = 1; j < lists.length; j++) {
+                positions[j] = lists[j].size - 1;
+            }
+            Postings shortest = lists[0];
+            candidates:
+            for (int i = shortest.size - 1; i >= 0; i--) {
+                int ordinal = shortest.values[i] >>> 1;
+                if (deleted.get(ordinal)) {
+                    continue;
+                }
+                int score = weight(shortest.values[i]);
+                for (int j = 1; j < lists.length; j++) {
+                    int position = lists[j].seekBack(positions[j], ordinal);
+                    positions[j] = position;
+                    if (position < 0) {
+                        break candidates; // 다른 목록이 끝났으므로 이후 후보도 없음
+                    }
+                    if (lists[j].values[position] >>> 1 != ordinal) {
+                        continue candidates;
+                    }
+                    score += weight(lists[j].values[position]);
+                }
+
+                if (top.size() < limit) {
+                    top.offer(new Hit(itemIds[ordinal], score, ordinal));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.offer(new Hit(itemIds[ordinal], score, ordinal));
+                }
+                if (top.size() == limit && top.peek().score() == maxScore) {
+                    break; // 남은 후보는 점수가 같아도 더 오래된 상품이므로 순위에 들 수 없음
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(HIT_ORDER);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 색인된(삭제되지 않은) 상품 수
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeLocked(String itemId) {
+        Integer ordinal = ordinals.remove(itemId);
+        if (ordinal == null) {
+            return false;
+        }
+        deleted.set(ordinal);
+        itemIds[ordinal] = null;
+        pendingDeletes++;
+        return true;
+    }
+
+    // 삭제 표시가 살아 있는 상품의 1/4을 넘으면 모든 목록에서 삭제된 번호를 제거
+    private void compactIfNeeded() {
+        if (pendingDeletes < COMPACT_MIN_DELETED || pendingDeletes * 4 < ordinals.size()) {
+            return;
+        }
+        postings.values().removeIf(list -> list.compact(deleted) == 0);
+        pendingDeletes = 0;
+    }
+
+    private static int weight(int posting) {
+        return (posting & 1) != 0 ? TITLE_WEIGHT : 1;
+    }
+
+    private static final Comparator<Hit> HIT_ORDER = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(Comparator.comparingInt(Hit::ordinal).reversed());
+
+    // 검색 결과 하나 (ordinal이 클수록 최근에 색인된 상품)
+    public record Hit(String itemId, int score, int ordinal) {
+    }
+
+    // 정렬된 int 목록 (번호 << 1 | 제목 포함 여부)
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int size;
+        private int titleCount; // 제목에 포함된 항목 수
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+            titleCount += value & 1;
+        }
+
+        // from 이전(포함)에서 번호가 ordinal 이하인 마지막 위치, 없으면 -1 (지수 탐색 후 이진 탐색)
+        private int seekBack(int from, int ordinal) {
+            if (from < 0 || values[from] >>> 1 <= ordinal) {
+                return from;
+            }
+            int step = 1;
+            int high = from; // values[high] > ordinal
+            int low = from - step;
+            while (low >= 0 && values[low] >>> 1 > ordinal) {
+                high = low;
+                step <<= 1;
+                low = from - step;
+            }
+            low = Math.max(low, -1);
+            // values[low] <= ordinal (또는 low == -1), values[high] > ordinal
+            while (low + 1 < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] >>> 1 > ordinal) {
+                    high = mid;
+                } else {
+                    low = mid;
+                }
+            }
+            return low;
+        }
+
+        // 삭제된 번호를 제거하고 남은 개수를 반환
+        private int compact(BitSet deleted) {
+            int kept = 0;
+            int titles = 0;
+            for (int i = 0; i < size; i++) {
+                if (!deleted.get(values[i] >>> 1)) {
+                    titles += values[i] & 1;
+                    values[kept++] = values[i];
+                }
+            }
+            size = kept;
+            titleCount = titles;
+            if (values.length > 16 && size < values.length / 4) {
+                values = Arrays.copyOf(values, Math.max(size * 2, 4));
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.ItemRepository;
+import com.example.usedauction.service.ItemService.ItemCard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// 상품 제목/설명 키워드 검색 서비스 (메모리 역색인)
+// 상품 추가/수정/삭제 시 ItemService가 색인을 바로 갱신하고, 서버 시작 시에는 데이터베이스에서 한 번 다시 만듦
+@Service
+public class ItemTextSearchService {
+
+    public static final int DEFAULT_LIMIT = 20; // 기본 검색 결과 수
+    public static final int MAX_LIMIT = 100; // 최대 검색 결과 수
+
+    private final ItemRepository itemRepository;
+    private final Object updateLock = new Object(); // 색인 갱신과 재생성의 순서를 맞추기 위한 잠금
+
+    private volatile ItemTextIndex index = new ItemTextIndex(); // 검색에 사용하는 색인
+    private ItemTextIndex building; // 재생성 중인 색인 (updateLock 안에서만 접근)
+    private Set<String> touchedWhileBuilding; // 재생성 중에 바뀐 상품 ID (데이터베이스에서 읽은 이전 값으로 덮어쓰지 않도록)
+
+    @Autowired
+    public ItemTextSearchService(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    // 서버 시작 시 백그라운드에서 색인 생성 (생성 중에도 서버는 요청을 받고, 그동안 추가/수정된 상품은 바로 검색됨)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread.ofVirtual().name("item-text-index-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // 데이터베이스의 모든 상품으로 색인을 새로 만든 뒤 교체하고, 색인된 상품 수를 반환
+    public int rebuild() {
+        ItemTextIndex fresh = new ItemTextIndex();
+        synchronized (updateLock) {
+            building = fresh;
+            touchedWhileBuilding = new HashSet<>();
+        }
+
+        long start = System.currentTimeMillis();
+        try (Stream<Item> items = itemRepository.streamTextFields()) {
+            items.forEach(item -> {
+                synchronized (updateLock) {
+                    if (!touchedWhileBuilding.contains(item.getId())) {
+                        fresh.put(item.getId(), item.getTitle(), item.getDescription());
+                    }
+                }
+            });
+            synchronized (updateLock) {
+                index = fresh;
+            }
+        } finally {
+            synchronized (updateLock) {
+                building = null;
+                touchedWhileBuilding = null;
+            }
+        }
+        System.out.println("Item text index rebuilt: " + fresh.size() + " items in "
+                + (System.currentTimeMillis() - start) + " ms");
+        return fresh.size();
+    }
+
+    // 추가되거나 수정된 상품을 색인에 반영
+    public void index(Item item) {
+        synchronized (updateLock) {
+            index.put(item.getId(), item.getTitle(), item.getDescription());
+            if (building != null) {
+                building.put(item.getId(), item.getTitle(), item.getDescription());
+                touchedWhileBuilding.add(item.getId());
+            }
+        }
+    }
+
+    // 삭제된 상품을 색인에서 제거
+    public void remove(String itemId) {
+        synchronized (updateLock) {
+            index.remove(itemId);
+            if (building != null) {
+                building.remove(itemId);
+                touchedWhileBuilding.add(itemId);
+            }
+        }
+    }
+
+    // 검색어로 상품을 찾아 관련도 순으로 상품 카드를 반환 (카드 필드는 ID로 한 번에 조회)
+    public List<ItemCard> search(String query, int limit) {
+        List<ItemTextIndex.Hit> hits = index.search(query, Math.min(Math.max(limit, 1), MAX_LIMIT));
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Item> items = itemRepository.findCardsByIds(
+                        hits.stream().map(ItemTextIndex.Hit::itemId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<ItemCard> cards = new ArrayList<>(hits.size());
+        for (ItemTextIndex.Hit hit : hits) {
+            Item item = items.get(hit.itemId());
+            if (item != null) { // 색인 갱신 전에 삭제된 상품은 제외
+                cards.add(new ItemCard(item));
+            }
+        }
+        return cards;
+    }
+
+    public int getIndexedCount() {
+        return index.size();
+    }
+}
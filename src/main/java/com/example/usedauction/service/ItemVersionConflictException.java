@@ -0,0 +1,9 @@
+package com.example.usedauction.service;
+
+// 상품을 수정하는 동안 다른 요청이 먼저 상품을 바꿨을 때 발생하는 예외 (If-Match 버전 불일치 포함)
+public class ItemVersionConflictException extends RuntimeException {
+
+    public ItemVersionConflictException(String itemId) {
+        super("Item " + itemId + " was modified by another request");
+    }
+}
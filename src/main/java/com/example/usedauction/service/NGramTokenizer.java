@@ -0,0 +1,86 @@
+package com.example.usedauction.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+
+// 상품 검색용 n-gram 토크나이저
+// 한국어는 띄어쓰기와 조사 때문에 단어 단위로 나누면 "아이폰을"과 "아이폰"이 달라지므로, 단어를 두 글자씩(bigram) 잘라서 색인
+// 한 글자 검색어(입력 중인 첫 글자)를 위해 단어의 첫 글자도 따로 색인 (prefix 검색)
+// gram은 두 글자를 int 하나에 담아 문자열을 만들지 않음 (첫 글자 << 16 | 둘째 글자, 첫 글자 gram은 둘째 글자가 0)
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    // 문서(제목, 설명)를 색인할 gram 목록 (중복 제거, 오름차순)
+    public static int[] indexGrams(String text) {
+        return grams(text, true);
+    }
+
+    // 검색어의 gram 목록 (두 글자 이상인 단어는 bigram, 한 글자 단어는 첫 글자 gram)
+    public static int[] queryGrams(String query) {
+        return grams(query, false);
+    }
+
+    // 대소문자, 전각/반각 차이를 없앤 문자열
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] grams(String text, boolean indexing) {
+        if (text == null || text.isEmpty()) {
+            return new int[0];
+        }
+        String normalized = normalize(text);
+        int[] grams = new int[normalized.length() + 1];
+        int count = 0;
+
+        int tokenStart = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean tokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+                continue;
+            }
+            if (tokenStart < 0) {
+                continue;
+            }
+
+            int length = i - tokenStart;
+            if (indexing || length == 1) {
+                grams = ensureCapacity(grams, count + 1);
+                grams[count++] = prefixGram(normalized.charAt(tokenStart));
+            }
+            for (int j = tokenStart; j + 1 < i; j++) {
+                grams = ensureCapacity(grams, count + 1);
+                grams[count++] = bigram(normalized.charAt(j), normalized.charAt(j + 1));
+            }
+            tokenStart = -1;
+        }
+
+        // 정렬 후 중복 제거
+        Arrays.sort(grams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    private static int prefixGram(char first) {
+        return first << 16;
+    }
+
+    private static int[] ensureCapacity(int[] grams, int required) {
+        return required <= grams.length ? grams : Arrays.copyOf(grams, Math.max(required, grams.length * 2));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.repository.UserNickname;
+import com.example.usedauction.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 사용자 ID -> 닉네임 캐시 (크기 제한, 없는 닉네임은 한 번의 $in 쿼리로 모아서 조회)
+@Service
+public class NicknameCache {
+
+    public static final String UNKNOWN_NICKNAME = "알수없음"; // 사용자를 찾을 수 없을 때 표시할 닉네임
+
+    private final UserRepository userRepository;
+    private final Cache<String, String> cache;
+
+    @Autowired
+    public NicknameCache(UserRepository userRepository,
+                         @Value("${auction.nickname-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    // 사용자 한 명의 닉네임 조회
+    public String getNickname(String userId) {
+        if (userId == null) {
+            return UNKNOWN_NICKNAME;
+        }
+        return getNicknames(Set.of(userId)).getOrDefault(userId, UNKNOWN_NICKNAME);
+    }
+
+    // 여러 사용자의 닉네임을 조회 (캐시에 없는 사용자만 한 번에 데이터베이스에서 조회)
+    // 존재하지 않는 사용자는 결과에 포함되지 않음
+    public Map<String, String> getNicknames(Collection<String> userIds) {
+        Set<String> ids = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        return cache.getAll(ids, this::load);
+    }
+
+    // 닉네임이 바뀌었거나 사용자가 삭제되었을 때 캐시에서 제거
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+
+    private Map<String, String> load(Set<? extends String> userIds) {
+        Map<String, String> nicknames = new HashMap<>();
+        for (UserNickname user : userRepository.findByIdIn(Set.copyOf(userIds))) {
+            if (user.getNickname() != null) {
+                nicknames.put(user.getId(), user.getNickname());
+            }
+        }
+        return nicknames;
+    }
+}
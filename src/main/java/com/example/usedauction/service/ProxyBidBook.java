@@ -0,0 +1,122 @@
+package com.example.usedauction.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 상품 하나의 자동 입찰(최대 금액) 목록과 현재 최고가/최고 입찰자
+// 자동 입찰끼리의 경쟁은 단위 금액만큼씩 번갈아 올리는 대신 한 번에 계산하고,
+// 입찰자별 마지막 입찰만 금액 오름차순으로 돌려줌 (각 입찰은 직전 입찰 + 입찰 단위 이상이므로 입찰 기록 규칙을 지킴)
+// 스레드 안전하지 않으므로 호출하는 쪽에서 잠금을 잡고 사용
+public class ProxyBidBook {
+
+    private final Map<String, Proxy> proxies = new LinkedHashMap<>(); // 입찰자 ID별 자동 입찰
+    private int price; // 현재 최고가
+    private String leaderId; // 현재 최고 입찰자 (입찰이 없으면 null)
+    private int bidUnit; // 입찰 단위
+
+    // 데이터베이스에서 읽은 상품 상태로 초기화
+    public void reset(int price, String leaderId, int bidUnit) {
+        this.price = price;
+        this.leaderId = leaderId;
+        this.bidUnit = Math.max(bidUnit, 1); // 입찰 단위가 0 이하인 상품도 계산이 끝나도록 최소 1
+    }
+
+    // 자동 입찰 등록 (이미 있으면 최대 금액만 바꾸고 등록 순서는 유지)
+    public void putProxy(String bidderId, int maxAmount, long registeredAt) {
+        Proxy existing = proxies.get(bidderId);
+        proxies.put(bidderId, new Proxy(bidderId, maxAmount, existing != null ? existing.registeredAt() : registeredAt));
+    }
+
+    // 다른 경로로 성공한 입찰을 반영
+    public void observeBid(String bidderId, int amount) {
+        if (amount > price) {
+            price = amount;
+            leaderId = bidderId;
+        }
+    }
+
+    public int getPrice() {
+        return price;
+    }
+
+    public String getLeaderId() {
+        return leaderId;
+    }
+
+    public int getMinimumBid() {
+        return price + bidUnit;
+    }
+
+    public boolean isEmpty() {
+        return proxies.isEmpty();
+    }
+
+    // 최고 입찰자가 아닌 자동 입찰이 더 이상 올릴 수 없을 때까지 경쟁을 계산하고, 저장할 입찰 목록을 반환
+    public List<Step> resolve() {
+        Map<String, Integer> lastBids = new LinkedHashMap<>(); // 입찰자별 마지막 입찰 금액
+        Proxy challenger;
+        while ((challenger = strongestChallenger()) != null) {
+            Proxy leaderProxy = leaderId != null ? proxies.get(leaderId) : null;
+            long leaderCap = leaderProxy != null ? Math.max(price, leaderProxy.maxAmount()) : price; // 최고 입찰자가 올릴 수 있는 한도
+            long challengerCap = challenger.maxAmount();
+
+            if (leaderCap >= challengerCap + bidUnit) {
+                // 도전자는 최대 금액까지 올리고, 최고 입찰자가 그보다 한 단위 높게 응수
+                lastBids.put(challenger.bidderId(), (int) challengerCap);
+                raise(lastBids, leaderId, challengerCap + bidUnit);
+            } else if (challengerCap >= leaderCap + bidUnit) {
+                // 최고 입찰자는 한도까지 올린 뒤 도전자에게 밀림
+                if (leaderCap >= (long) price + bidUnit) {
+                    lastBids.put(leaderId, (int) leaderCap);
+                    raise(lastBids, challenger.bidderId(), leaderCap + bidUnit);
+                } else {
+                    raise(lastBids, challenger.bidderId(), (long) price + bidUnit);
+                }
+            } else if (leaderCap >= (long) price + 2L * bidUnit) {
+                // 한도 차이가 입찰 단위보다 작으면 먼저 최고가를 가진 쪽이 유지
+                lastBids.put(challenger.bidderId(), (int) (leaderCap - bidUnit));
+                raise(lastBids, leaderId, leaderCap);
+            } else {
+                // 최고 입찰자가 응수할 여유가 없으면 도전자가 최소 금액으로 가져감
+                raise(lastBids, challenger.bidderId(), (long) price + bidUnit);
+            }
+        }
+
+        List<Step> steps = new ArrayList<>(lastBids.size());
+        lastBids.forEach((bidderId, amount) -> steps.add(new Step(bidderId, amount)));
+        steps.sort(Comparator.comparingInt(Step::amount));
+        return steps;
+    }
+
+    // 최고 입찰자를 제외하고 현재 최소 입찰 금액 이상을 낼 수 있는 자동 입찰 중 한도가 가장 높은 것 (같으면 먼저 등록한 것)
+    private Proxy strongestChallenger() {
+        Proxy strongest = null;
+        long minimumBid = (long) price + bidUnit;
+        for (Proxy proxy : proxies.values()) {
+            if (proxy.bidderId().equals(leaderId) || proxy.maxAmount() < minimumBid) {
+                continue;
+            }
+            if (strongest == null || proxy.maxAmount() > strongest.maxAmount()
+                    || (proxy.maxAmount() == strongest.maxAmount() && proxy.registeredAt() < strongest.registeredAt())) {
+                strongest = proxy;
+            }
+        }
+        return strongest;
+    }
+
+    private void raise(Map<String, Integer> lastBids, String bidderId, long amount) {
+        lastBids.put(bidderId, (int) amount);
+        price = (int) amount;
+        leaderId = bidderId;
+    }
+
+    private record Proxy(String bidderId, int maxAmount, long registeredAt) {
+    }
+
+    // 저장할 입찰 하나
+    public record Step(String bidderId, int amount) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.model.ProxyBid;
+import com.example.usedauction.repository.BidRepository;
+import com.example.usedauction.repository.ItemRepository;
+import com.example.usedauction.repository.ProxyBidRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 자동 입찰(최대 금액 입찰) 서비스
+// 입찰자가 최대 금액을 한 번 등록하면, 다른 입찰에 밀릴 때마다 서버가 메모리에서 경쟁을 계산하고
+// 최종 결과에 해당하는 입찰만 BidService를 통해 저장 (단계별 입찰은 저장하지 않음)
+@Service
+public class ProxyBidService {
+
+    private final ProxyBidRepository proxyBidRepository;
+    private final ItemRepository itemRepository;
+    private final BidRepository bidRepository;
+    private final BidService bidService;
+
+    private final ConcurrentHashMap<String, ItemProxies> books = new ConcurrentHashMap<>(); // 자동 입찰이 있는 상품 ID별 상태
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor(); // 다른 입찰에 대한 응수는 요청 스레드 밖에서 처리
+
+    @Autowired
+    public ProxyBidService(ProxyBidRepository proxyBidRepository, ItemRepository itemRepository,
+                           BidRepository bidRepository, BidService bidService) {
+        this.proxyBidRepository = proxyBidRepository;
+        this.itemRepository = itemRepository;
+        this.bidRepository = bidRepository;
+        this.bidService = bidService;
+    }
+
+    // 서버 시작 시 등록되어 있는 자동 입찰을 메모리로 불러옴 (상품 상태는 처음 필요할 때 조회)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadProxies() {
+        for (ProxyBid proxyBid : proxyBidRepository.findAll()) {
+            ItemProxies proxies = books.computeIfAbsent(proxyBid.getItemId(), key -> new ItemProxies());
+            proxies.lock.lock();
+            try {
+                proxies.book.putProxy(proxyBid.getBidderId(), proxyBid.getMaxAmount(), registeredAt(proxyBid));
+            } finally {
+                proxies.lock.unlock();
+            }
+        }
+    }
+
+    // 자동 입찰을 등록(또는 최대 금액 변경)하고, 바로 경쟁을 계산하여 결과를 반환하는 메서드
+    public ProxyBidResult register(String itemId, String bidderId, int maxAmount) {
+        ItemProxies proxies = books.computeIfAbsent(itemId, key -> new ItemProxies());
+        proxies.lock.lock();
+        try {
+            load(itemId, proxies);
+            if (!proxies.isOpen(LocalDateTime.now())) {
+                throw BidRejectedException.auctionEnded(itemId);
+            }
+            if (maxAmount < proxies.book.getMinimumBid()) {
+                throw BidRejectedException.bidTooLow(maxAmount, proxies.book.getMinimumBid());
+            }
+
+            // 같은 상품에 다시 등록하면 최대 금액만 변경 (상품 ID + 입찰자 ID는 유일 인덱스)
+            ProxyBid proxyBid = proxyBidRepository.findByItemIdAndBidderId(itemId, bidderId).orElseGet(() -> {
+                ProxyBid created = new ProxyBid();
+                created.setItemId(itemId);
+                created.setBidderId(bidderId);
+                created.setCreatedAt(new Date());
+                return created;
+            });
+            proxyBid.setMaxAmount(maxAmount);
+            proxyBidRepository.save(proxyBid);
+            proxies.book.putProxy(bidderId, maxAmount, registeredAt(proxyBid));
+
+            resolve(itemId, proxies);
+            return new ProxyBidResult(itemId, maxAmount, proxies.book.getPrice(),
+                    bidderId.equals(proxies.book.getLeaderId()));
+        } finally {
+            if (proxies.book.isEmpty()) {
+                books.remove(itemId, proxies); // 등록에 실패하여 자동 입찰이 없는 상품은 보관하지 않음
+            }
+            proxies.lock.unlock();
+        }
+    }
+
+    // 다른 입찰이 성공하면 그 상품의 자동 입찰이 응수할지 계산 (자동 입찰이 없는 상품은 무시)
+    @EventListener
+    public void onBidPlaced(BidPlacedEvent event) {
+        if (event.isProxy()) {
+            return; // 자동 입찰이 만든 입찰은 이미 계산에 포함됨 (순차 처리 모드에서는 워커 스레드에서 발행되므로 입찰에 표시하여 구분)
+        }
+        Bid bid = event.getBid();
+        ItemProxies proxies = books.get(bid.getItemId());
+        if (proxies == null) {
+            return;
+        }
+
+        executor.execute(() -> {
+            proxies.lock.lock();
+            try {
+                if (proxies.loaded) {
+                    proxies.book.observeBid(bid.getBidderId(), bid.getBidAmount());
+                }
+                load(bid.getItemId(), proxies);
+                resolve(bid.getItemId(), proxies);
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // 상품이 삭제된 경우 등은 다음 입찰 때 다시 시도
+            } finally {
+                proxies.lock.unlock();
+            }
+        });
+    }
+
+    // 마감된 경매의 자동 입찰은 더 이상 필요 없으므로 제거
+    @EventListener
+    public void onAuctionClosed(AuctionClosedEvent event) {
+        if (books.remove(event.getItemId()) != null) {
+            proxyBidRepository.deleteByItemId(event.getItemId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 자동 입찰 경쟁을 계산하고 결과 입찰을 금액 순서대로 저장
+    private void resolve(String itemId, ItemProxies proxies) {
+        if (!proxies.isOpen(LocalDateTime.now())) {
+            return;
+        }
+        List<ProxyBidBook.Step> steps = proxies.book.resolve();
+        if (steps.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (ProxyBidBook.Step step : steps) {
+                bidService.placeProxyBid(itemId, step.bidderId(), step.amount());
+            }
+        } catch (BidRejectedException e) {
+            // 그 사이 다른 입찰이 먼저 들어온 경우: 상태를 다시 읽고, 그 입찰의 이벤트로 다시 계산됨
+            proxies.loaded = false;
+            load(itemId, proxies);
+        }
+    }
+
+    // 상품의 현재 최고가, 최고 입찰자, 입찰 단위, 마감 시간을 데이터베이스에서 읽음 (처음 한 번 또는 충돌 후)
+    private void load(String itemId, ItemProxies proxies) {
+        if (proxies.loaded) {
+            return;
+        }
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> BidRejectedException.itemNotFound(itemId));
+        String leaderId = bidRepository.findFirstByItemIdOrderByBidAmountDescBidTimeAsc(itemId)
+                .map(Bid::getBidderId)
+                .orElse(null);
+        proxies.book.reset(item.getLastPrice(), leaderId, item.getBidUnit());
+        proxies.endDateTime = item.getEndDateTime();
+        proxies.loaded = true;
+    }
+
+    private static long registeredAt(ProxyBid proxyBid) {
+        return proxyBid.getCreatedAt() != null ? proxyBid.getCreatedAt().getTime() : Long.MAX_VALUE;
+    }
+
+    // 상품 하나의 자동 입찰 상태와 잠금 (데이터베이스 작업 중에도 가상 스레드가 고정되지 않도록 ReentrantLock 사용)
+    private static class ItemProxies {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ProxyBidBook book = new ProxyBidBook();
+        private boolean loaded; // 상품 상태를 읽었는지 여부
+        private LocalDateTime endDateTime; // 경매 마감 시간
+
+        private boolean isOpen(LocalDateTime now) {
+            return endDateTime != null && endDateTime.isAfter(now);
+        }
+    }
+
+    // 자동 입찰 등록 결과
+    public static class ProxyBidResult {
+        private final String itemId; // 상품 ID
+        private final int maxAmount; // 등록한 최대 금액
+        private final int currentPrice; // 경쟁 계산 후 현재 최고가
+        private final boolean leading; // 등록한 입찰자가 현재 최고 입찰자인지 여부
+
+        public ProxyBidResult(String itemId, int maxAmount, int currentPrice, boolean leading) {
+            this.itemId = itemId;
+            this.maxAmount = maxAmount;
+            this.currentPrice = currentPrice;
+            this.leading = leading;
+        }
+
+        public String getItemId() {
+            return itemId;
+        }
+
+        public int getMaxAmount() {
+            return maxAmount;
+        }
+
+        public int getCurrentPrice() {
+            return currentPrice;
+        }
+
+        public boolean isLeading() {
+            return leading;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.ImageUrls;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 이미지 저장소의 원본 이미지로 썸네일(ImageUrls.THUMBNAIL_SIZES 크기들)을 만드는 백그라운드 작업
+// 고정된 수의 작업 스레드와 크기가 제한된 대기열을 사용하며, 대기열이 가득 차면 요청을 버림
+// (요청한 스레드에서 직접 만들지 않으므로 공개 이미지 요청이 디코딩에 묶이지 않고, 버린 이미지는 다음 썸네일 요청 때 다시 요청됨)
+// 썸네일은 원본 해시를 이름으로 저장되므로 같은 이미지는 한 번만 만들고, 생성 중인 이미지를 다시 요청하면 무시
+// 대기열 길이는 auction.thumbnail.queue, 작업 중인 스레드 수는 auction.thumbnail.active,
+// 이미지 하나(모든 크기)의 처리 시간은 auction.thumbnail.duration, 실패 수는 auction.thumbnail.failed,
+// 대기열이 가득 차 버린 요청 수는 auction.thumbnail.rejected 지표로 기록
+@Service
+public class ThumbnailService {
+
+    private static final Duration FAILURE_TTL = Duration.ofHours(1); // 읽을 수 없는 이미지를 다시 시도하지 않는 시간
+
+    private final ImageStore imageStore;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<String, Boolean> pending = new ConcurrentHashMap<>(); // 대기 중이거나 생성 중인 원본 ID
+    private final Cache<String, Boolean> failed; // 최근에 생성이 실패한 원본 ID (지원하지 않는 형식 등)
+    private final Timer processingTime;
+    private final Counter failures;
+    private final Counter rejections;
+
+    @Autowired
+    public ThumbnailService(ImageStore imageStore, MeterRegistry meterRegistry,
+                            @Value("${auction.thumbnail.workers:2}") int workers,
+                            @Value("${auction.thumbnail.queue-capacity:100}") int queueCapacity) {
+        this.imageStore = imageStore;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // 대기열이 가득 차면 RejectedExecutionException (submit에서 버림)
+        this.failed = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(FAILURE_TTL).build();
+
+        Gauge.builder("auction.thumbnail.queue", executor, pool -> pool.getQueue().size())
+                .description("Images waiting for thumbnail generation")
+                .register(meterRegistry);
+        Gauge.builder("auction.thumbnail.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Thumbnail workers currently rendering")
+                .register(meterRegistry);
+        this.processingTime = Timer.builder("auction.thumbnail.duration")
+                .description("Time to render all thumbnail sizes of one image")
+                .register(meterRegistry);
+        this.failures = Counter.builder("auction.thumbnail.failed")
+                .description("Images whose thumbnails could not be rendered")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("auction.thumbnail.rejected")
+                .description("Thumbnail requests dropped because the queue was full")
+                .register(meterRegistry);
+    }
+
+    // 원본 이미지의 썸네일 생성 요청 (이미 있거나 생성 중이거나 최근에 실패했으면 무시, 대기열이 가득 차면 버림)
+    public void submit(String imageId) {
+        if (hasAllThumbnails(imageId) || failed.getIfPresent(imageId) != null
+                || pending.putIfAbsent(imageId, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> generate(imageId));
+        } catch (RejectedExecutionException e) {
+            pending.remove(imageId); // 대기열이 가득 찼거나 서버 종료 중 (다음 요청 때 다시 시도)
+            if (!executor.isShutdown()) {
+                rejections.increment();
+            }
+        }
+    }
+
+    // 썸네일 파일 경로 (아직 없으면 생성을 요청하고 빈 Optional 반환)
+    public Optional<Path> findThumbnail(String imageId, int size) {
+        Optional<Path> thumbnail = imageStore.findThumbnail(imageId, size);
+        if (thumbnail.isEmpty() && imageStore.find(imageId).isPresent()) {
+            submit(imageId); // 이전에 올라온 이미지이거나 생성이 끝나지 않은 경우
+        }
+        return thumbnail;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 원본을 한 번 읽어 큰 크기부터 차례로 줄이며 저장
+    private void generate(String imageId) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Optional<Path> source = imageStore.find(imageId);
+            if (source.isEmpty()) {
+                return;
+            }
+            List<Integer> sizes = ImageUrls.THUMBNAIL_SIZES.stream().sorted(Comparator.reverseOrder()).toList();
+            BufferedImage image = ThumbnailRenderer.read(source.get(), sizes.get(0));
+            for (int size : sizes) {
+                image = ThumbnailRenderer.scale(image, size); // 작은 크기는 앞에서 줄인 결과로 만듦
+                BufferedImage thumbnail = image;
+                imageStore.storeThumbnail(imageId, size, out -> ThumbnailRenderer.writeJpeg(thumbnail, out));
+            }
+            sample.stop(processingTime);
+        } catch (IOException | RuntimeException e) {
+            failed.put(imageId, Boolean.TRUE);
+            failures.increment();
+            System.out.println("Thumbnail generation failed for image " + imageId + ": " + e);
+        } finally {
+            pending.remove(imageId);
+        }
+    }
+
+    private boolean hasAllThumbnails(String imageId) {
+        for (int size : ImageUrls.THUMBNAIL_SIZES) {
+            if (imageStore.findThumbnail(imageId, size).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.usedauction.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 계층형 타이밍 휠 (만료 시각을 tick 단위로 관리)
+// 레벨마다 64개의 슬롯이 있고, 상위 레벨의 슬롯은 시간이 되면 하위 레벨로 내려옴(cascade)
+// 등록/취소는 O(1), tick 진행은 tick당 O(1) (만료되는 항목 수 제외)
+public class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS; // 레벨당 슬롯 수
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6; // 64^6 tick까지 표현 (1초 tick 기준 약 2000년)
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final Entry[][] slots = new Entry[LEVELS][SLOTS]; // 슬롯별 이중 연결 리스트의 head
+    private final Map<String, Entry> entries = new HashMap<>(); // 키로 항목을 찾기 위한 맵
+    private long nextTick; // 다음에 처리할 tick
+
+    public TimingWheel(long startTick) {
+        this.nextTick = startTick;
+    }
+
+    // 키를 deadlineTick에 만료되도록 등록 (이미 등록된 키는 새 시각으로 다시 등록)
+    public synchronized void schedule(String key, long deadlineTick) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unlink(entry);
+        }
+        entry = new Entry(key, deadlineTick);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    // 등록된 키를 취소하고, 취소되었으면 true 반환
+    public synchronized boolean cancel(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    // tick까지 시간을 진행시키고 그 사이에 만료된 키 목록을 반환
+    public synchronized List<String> advanceTo(long tick) {
+        List<String> expired = new ArrayList<>();
+        while (nextTick <= tick) {
+            processTick(expired);
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void processTick(List<String> expired) {
+        long tick = nextTick;
+
+        // 하위 레벨이 한 바퀴 돌 때마다 상위 레벨의 해당 슬롯을 아래로 내림
+        for (int level = 1; level < LEVELS; level++) {
+            if (((tick >>> (SLOT_BITS * (level - 1))) & SLOT_MASK) != 0) {
+                break;
+            }
+            cascade(level, (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+        }
+
+        int index = (int) (tick & SLOT_MASK);
+        Entry entry = slots[0][index];
+        slots[0][index] = null;
+        nextTick = tick + 1;
+
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            if (entry.deadline <= tick) {
+                entries.remove(entry.key);
+                expired.add(entry.key);
+            } else {
+                place(entry); // 최대 범위를 넘어 잘려서 등록되었던 항목은 다시 배치
+            }
+            entry = next;
+        }
+    }
+
+    private void cascade(int level, int index) {
+        Entry entry = slots[level][index];
+        slots[level][index] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    // 남은 시간에 맞는 레벨과 슬롯에 항목을 넣음
+    private void place(Entry entry) {
+        long deadline = Math.max(entry.deadline, nextTick); // 이미 지난 시각은 다음 tick에 만료
+        long delay = deadline - nextTick;
+        if (delay > MAX_DELAY) {
+            deadline = nextTick + MAX_DELAY;
+            delay = MAX_DELAY;
+        }
+
+        int level = 0;
+        while (delay >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int index = (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        entry.level = level;
+        entry.index = index;
+        entry.next = slots[level][index];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        slots[level][index] = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (slots[entry.level][entry.index] == entry) {
+            slots[entry.level][entry.index] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final long deadline;
+        private int level;
+        private int index;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(String key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.usedauction.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 키별 token bucket 표 (GCRA 방식: 키마다 "다음 토큰이 생기는 이론상 시각" 하나만 저장)
+// 키는 여러 stripe로 나누어 보관하고, 허용 여부는 잠금 없이 CAS 한 번으로 갱신
+// 토큰이 가득 찬 지 idle 시간이 지난 키는 sweep으로 제거 (가득 찬 bucket은 제거해도 결과가 같음)
+public class TokenBucketTable {
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int stripeMask;
+    private final long intervalNanos; // 토큰 하나가 다시 생기는 데 걸리는 시간
+    private final long burstNanos; // bucket 크기(burst)만큼의 토큰이 생기는 데 걸리는 시간
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketTable(double permitsPerSecond, int burst, int stripeCount) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(stripeCount - 1, 1)) << 1; // 2의 거듭제곱으로 올림
+        this.stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.stripeMask = size - 1;
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+    }
+
+    // 토큰 하나를 사용하고, 허용되면 0, 거절되면 다시 시도할 수 있을 때까지의 시간(나노초)을 반환
+    public long tryAcquire(String key, long nowNanos) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripeFor(key);
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(nowNanos)); // 처음 보는 키는 가득 찬 bucket
+        }
+
+        while (true) {
+            long theoreticalArrival = bucket.get();
+            long next = Math.max(theoreticalArrival, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess; // 남은 토큰이 없음
+            }
+            if (bucket.compareAndSet(theoreticalArrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // tryAcquire로 사용한 토큰 하나를 되돌림 (다른 한도에 걸려 요청이 거절된 경우)
+    public void refund(String key) {
+        AtomicLong bucket = stripeFor(key).get(key);
+        if (bucket != null) {
+            bucket.addAndGet(-intervalNanos);
+        }
+    }
+
+    // 토큰이 가득 찬 뒤 idle 시간 이상 사용되지 않은 키를 stripe별로 제거하고, 제거한 수를 반환
+    public int sweep(long nowNanos, long idleNanos) {
+        int removed = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(bucket -> nowNanos - bucket.get() >= idleNanos);
+            removed += Math.max(before - stripe.size(), 0);
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+}
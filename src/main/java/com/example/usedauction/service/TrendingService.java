@@ -0,0 +1,126 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Item;
+import com.example.usedauction.service.ItemService.ItemCard;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// "지금 뜨는 상품" 피드
+// 상품 상세 조회와 성공한 입찰을 최근 일정 시간(창) 동안 센 sliding window count-min sketch(TrendingSketch)로 순위를 매김
+// 백그라운드 스레드가 주기적으로 순위를 계산하여 카드 목록을 만들어 두므로, 피드 조회는 만들어진 목록을 그대로 반환 (데이터베이스 조회 없음)
+@Service
+public class TrendingService {
+
+    private final TrendingSketch sketch;
+    private final ItemCache itemCache;
+    private final int viewWeight; // 상세 조회 한 번의 점수
+    private final int bidWeight; // 입찰 한 번의 점수
+    private final int feedSize; // 미리 만들어 두는 피드 크기 (조회 가능한 최대 개수)
+    private final ScheduledExecutorService scheduler;
+
+    private volatile List<TrendingItem> feed = List.of(); // 마지막으로 계산한 순위
+
+    @Autowired
+    public TrendingService(ItemCache itemCache,
+                           @Value("${auction.trending.window-seconds:600}") long windowSeconds,
+                           @Value("${auction.trending.buckets:10}") int buckets,
+                           @Value("${auction.trending.sketch-depth:4}") int depth,
+                           @Value("${auction.trending.sketch-width:16384}") int width,
+                           @Value("${auction.trending.candidates:2000}") int candidates,
+                           @Value("${auction.trending.view-weight:1}") int viewWeight,
+                           @Value("${auction.trending.bid-weight:5}") int bidWeight,
+                           @Value("${auction.trending.size:50}") int feedSize,
+                           @Value("${auction.trending.refresh-ms:1000}") long refreshMillis) {
+        this.sketch = new TrendingSketch(buckets, depth, width, candidates);
+        this.itemCache = itemCache;
+        this.viewWeight = viewWeight;
+        this.bidWeight = bidWeight;
+        this.feedSize = feedSize;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trending-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long bucketMillis = Math.max(TimeUnit.SECONDS.toMillis(windowSeconds) / buckets, 1);
+        scheduler.scheduleAtFixedRate(this::rotate, bucketMillis, bucketMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 상품 상세 조회 기록 (잠금 없음)
+    public void recordView(String itemId) {
+        sketch.add(itemId, viewWeight);
+    }
+
+    // 성공한 입찰 기록
+    @EventListener
+    public void onBidPlaced(BidPlacedEvent event) {
+        sketch.add(event.getBid().getItemId(), bidWeight);
+    }
+
+    // 점수가 높은 순서로 최대 limit개 반환 (미리 계산된 목록)
+    public List<TrendingItem> getTrending(int limit) {
+        List<TrendingItem> current = feed;
+        return current.subList(0, Math.min(Math.max(limit, 0), current.size()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void rotate() {
+        sketch.rotate();
+    }
+
+    // 순위를 다시 계산하여 피드 교체 (삭제되었거나 끝난 경매는 제외, 상품 정보는 캐시에서 조회)
+    private void refresh() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<TrendingItem> items = new ArrayList<>(feedSize);
+            for (TrendingSketch.Entry entry : sketch.top(feedSize * 2)) { // 제외될 상품을 고려하여 여유 있게 가져옴
+                if (items.size() == feedSize) {
+                    break;
+                }
+                Optional<Item> item = itemCache.get(entry.key());
+                if (item.isPresent() && !item.get().isClosed()
+                        && item.get().getEndDateTime() != null && item.get().getEndDateTime().isAfter(now)) {
+                    items.add(new TrendingItem(new ItemCard(item.get()), entry.count()));
+                }
+            }
+            feed = List.copyOf(items);
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // 다음 주기에 다시 계산
+        }
+    }
+
+    // 피드 항목 하나 (상품 카드와 최근 점수)
+    public static class TrendingItem {
+        private final ItemCard item; // 상품 카드
+        private final long score; // 창 안의 (조회 x view-weight + 입찰 x bid-weight) 추정값
+
+        public TrendingItem(ItemCard item, long score) {
+            this.item = item;
+            this.score = score;
+        }
+
+        public ItemCard getItem() {
+            return item;
+        }
+
+        public long getScore() {
+            return score;
+        }
+    }
+}
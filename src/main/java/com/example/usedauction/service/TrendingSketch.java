@@ -0,0 +1,126 @@
+package com.example.usedauction.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// 최근 일정 시간 동안의 키별 횟수를 고정된 메모리로 추정하는 sliding window count-min sketch
+// 시간 구간(bucket)마다 sketch를 하나씩 두고, rotate()가 호출될 때마다 가장 오래된 구간을 비워서 다음 구간으로 사용
+// (따라서 오래된 조회/입찰은 창 밖으로 밀려나며 자연스럽게 사라짐)
+// add는 잠금 없이 현재 구간의 카운터를 원자적으로 더하고, 추정값이 순위에 들 만하면 후보 목록에 넣음
+// 후보 목록은 크기가 제한되어 있으며, top()이 호출될 때 추정값 순으로 정렬하고 하위 절반을 정리
+// (후보 목록이 가득 차면 다음 top() 호출까지 새 키를 받지 않으므로 top()은 주기적으로 호출해야 함)
+public class TrendingSketch {
+
+    private static final int[] SEEDS = {0x3C6EF372, 0xA54FF53A, 0x510E527F, 0x9B05688C, 0x1F83D9AB, 0x5BE0CD19, 0xCBBB9D5D, 0x629A292A}; // 행별 해시 seed
+
+    private final int depth; // 해시 함수(행) 수
+    private final int widthMask; // 행의 너비 - 1 (너비는 2의 거듭제곱)
+    private final AtomicIntegerArray[] buckets; // 시간 구간별 depth x width 카운터
+    private final int candidateCapacity; // 후보 목록 최대 크기
+    private final ConcurrentHashMap<String, Boolean> candidates = new ConcurrentHashMap<>(); // 순위에 들 수 있는 키
+
+    private volatile int current; // 지금 더하고 있는 구간
+    private volatile long admissionThreshold = 1; // 후보 목록에 들어오기 위한 최소 추정값
+
+    public TrendingSketch(int bucketCount, int depth, int width, int candidateCapacity) {
+        if (depth < 1 || depth > SEEDS.length || Integer.bitCount(width) != 1 || bucketCount < 1) {
+            throw new IllegalArgumentException("depth must be 1.." + SEEDS.length + ", width a power of two");
+        }
+        this.depth = depth;
+        this.widthMask = width - 1;
+        this.buckets = new AtomicIntegerArray[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new AtomicIntegerArray(depth * width);
+        }
+        this.candidateCapacity = candidateCapacity;
+    }
+
+    // 키의 현재 구간 횟수에 weight를 더함 (잠금 없음)
+    public void add(String key, int weight) {
+        AtomicIntegerArray bucket = buckets[current];
+        int hash = key.hashCode();
+        for (int row = 0; row < depth; row++) {
+            bucket.getAndAdd(index(row, hash), weight);
+        }
+
+        if (!candidates.containsKey(key) && candidates.size() < candidateCapacity
+                && estimate(hash) >= admissionThreshold) {
+            candidates.putIfAbsent(key, Boolean.TRUE);
+        }
+    }
+
+    // 창 안의 횟수 추정값 (실제 횟수 이상, 다른 키와의 해시 충돌만큼 클 수 있음)
+    public long estimate(String key) {
+        return estimate(key.hashCode());
+    }
+
+    // 가장 오래된 구간을 비우고 그 구간부터 새로 더함 (창 길이 / 구간 수마다 한 번, 한 스레드에서만 호출)
+    public void rotate() {
+        int next = (current + 1) % buckets.length;
+        AtomicIntegerArray bucket = buckets[next];
+        for (int i = 0; i < bucket.length(); i++) {
+            bucket.set(i, 0);
+        }
+        current = next;
+    }
+
+    // 추정값이 큰 순서로 최대 k개 반환 (추정값이 0이 된 후보와 하위 후보는 정리)
+    public List<Entry> top(int k) {
+        List<Entry> entries = new ArrayList<>(candidates.size());
+        for (String key : candidates.keySet()) {
+            long count = estimate(key);
+            if (count > 0) {
+                entries.add(new Entry(key, count));
+            } else {
+                candidates.remove(key); // 창 밖으로 밀려난 키
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::key));
+
+        // 새 키가 들어올 수 있도록 후보 목록을 절반까지 줄이고, 남은 후보 중 가장 낮은 추정값을 입장 기준으로 사용
+        int keep = Math.max(candidateCapacity / 2, k);
+        if (entries.size() > keep) {
+            for (Entry dropped : entries.subList(keep, entries.size())) {
+                candidates.remove(dropped.key());
+            }
+            entries = entries.subList(0, keep);
+            admissionThreshold = entries.get(keep - 1).count();
+        } else {
+            admissionThreshold = 1;
+        }
+        return new ArrayList<>(entries.subList(0, Math.min(k, entries.size())));
+    }
+
+    public int candidateCount() {
+        return candidates.size();
+    }
+
+    private long estimate(int hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, hash);
+            long sum = 0;
+            for (AtomicIntegerArray bucket : buckets) {
+                sum += bucket.get(index);
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    // 행마다 다른 seed로 섞은 해시의 위치
+    private int index(int row, int hash) {
+        int h = (hash ^ SEEDS[row]) * 0x9E3779B1;
+        h ^= h >>> 15;
+        h *= 0x85EBCA77;
+        h ^= h >>> 13;
+        return row * (widthMask + 1) + (h & widthMask);
+    }
+
+    // 키와 창 안의 추정 횟수
+    public record Entry(String key, long count) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.usedauction.service;
+
+// 사용자가 삭제된 직후 발행되는 애플리케이션 이벤트 (삭제 요청 스레드에서 동기적으로 전달)
+public class UserDeletedEvent {
+    private final String userId; // 삭제된 사용자 ID
+    private final String email; // 삭제된 사용자 이메일 (로그인 ID)
+
+    public UserDeletedEvent(String userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -1,11 +1,22 @@
 package com.example.usedauction.service;
 
 import com.example.usedauction.model.User;
+import com.example.usedauction.repository.LegacyProfileImage;
 import com.example.usedauction.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,11 +26,20 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final NicknameCache nicknameCache;
+    private final ImageStore imageStore;
+    private final ThumbnailService thumbnailService;
+    private final ApplicationEventPublisher eventPublisher; // 사용자 삭제 이벤트 발행
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, NicknameCache nicknameCache,
+                       ImageStore imageStore, ThumbnailService thumbnailService, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.nicknameCache = nicknameCache;
+        this.imageStore = imageStore;
+        this.thumbnailService = thumbnailService;
+        this.eventPublisher = eventPublisher;
     }
 
     public User addUser(User user) {
@@ -41,7 +61,10 @@ public class UserService {
     }
 
     public void deleteUser(String id) {
+        Optional<User> user = userRepository.findById(id); // 인증 캐시 제거를 위해 이메일 확인
         userRepository.deleteById(id);
+        nicknameCache.invalidate(id); // 삭제된 사용자의 닉네임 캐시 제거
+        user.ifPresent(deleted -> eventPublisher.publishEvent(new UserDeletedEvent(id, deleted.getEmail()))); // 인증 캐시 등에서 제거
     }
 
     public Optional<User> getUserByEmail(String email) {
@@ -50,24 +73,61 @@ public class UserService {
 
 
     // 사용자 정보를 업데이트하는 메서드
+    // 바꿀 수 있는 필드만 한 번의 요청으로 $set 하고 바뀐 사용자를 반환 (나머지 필드는 다시 쓰지 않음)
     public Optional<User> updateUser(String id, Map<String, Object> updates) {
-        Optional<User> userOptional = userRepository.findById(id); // ID로 사용자 검색
+        // 업데이트할 필드를 설정 (필요한 경우 다른 필드들도 추가)
+        Map<String, Object> fields = new HashMap<>();
+        if (updates.containsKey("nickname")) {
+            fields.put("nickname", (String) updates.get("nickname"));
+        }
+        if (fields.isEmpty()) {
+            return userRepository.findById(id); // 바꿀 필드가 없으면 현재 정보 반환
+        }
 
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
+        Optional<User> updated = userRepository.updateFields(id, fields); // 사용자가 없으면 빈 Optional 반환
+        if (updated.isPresent() && fields.containsKey("nickname")) {
+            nicknameCache.invalidate(id); // 닉네임이 바뀌었으므로 캐시 제거
+        }
+        return updated;
+    }
 
-            // 업데이트할 필드를 설정
-            if (updates.containsKey("nickname")) {
-                user.setNickname((String) updates.get("nickname"));
-            }
+    // 프로필 이미지를 이미지 저장소에 흘려 쓰고 이미지 ID를 반환 (파일 전체를 메모리에 올리지 않음, 썸네일은 백그라운드에서 생성)
+    public String storeProfileImage(InputStream image) throws IOException {
+        String imageId = imageStore.store(image);
+        thumbnailService.submit(imageId);
+        return imageId;
+    }
 
-            // 필요한 경우 다른 필드들도 업데이트
+    // 서버 시작 시 이전 방식(사용자 문서 안의 base64 문자열)으로 저장된 프로필 이미지를 이미지 저장소로 옮김
+    // 옮긴 뒤에는 사용자 조회와 로그인 응답에 이미지 내용이 포함되지 않음
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyProfileImagesOnStartup() {
+        Thread.ofVirtual().name("profile-image-migration").start(() -> {
+            try {
+                migrateLegacyProfileImages();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
 
-            userRepository.save(user); // 변경된 사용자 정보 저장
-            return Optional.of(user);
-        } else {
-            return Optional.empty(); // 사용자가 없는 경우 빈 Optional 반환
+    // 이전 방식의 프로필 이미지를 모두 옮기고 옮긴 수를 반환
+    public int migrateLegacyProfileImages() {
+        int migrated = 0;
+        try (Stream<LegacyProfileImage> images = userRepository.streamLegacyProfileImages()) {
+            for (LegacyProfileImage image : (Iterable<LegacyProfileImage>) images::iterator) {
+                try (InputStream decoded = Base64.getDecoder().wrap(
+                        new ByteArrayInputStream(image.base64().getBytes(StandardCharsets.ISO_8859_1)))) {
+                    userRepository.replaceLegacyProfileImage(image.userId(), storeProfileImage(decoded));
+                    migrated++;
+                } catch (IOException | IllegalArgumentException e) {
+                    System.out.println("Profile image migration failed for user " + image.userId() + ": " + e); // 다음 시작 때 다시 시도
+                }
+            }
         }
+        if (migrated > 0) {
+            System.out.println("Profile images moved to image store: " + migrated);
+        }
+        return migrated;
     }
-
 }
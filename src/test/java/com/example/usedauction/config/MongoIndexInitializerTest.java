@@ -0,0 +1,69 @@
+package com.example.usedauction.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoIndexInitializerTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final IndexOperations indexOps = mock(IndexOperations.class);
+    private final List<String> created = new ArrayList<>(); // ensureIndex로 요청된 인덱스 이름
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder()); // LocalDateTime 등을 값 타입으로 취급
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        when(mongoTemplate.getCollectionName(any(Class.class))).thenReturn("collection");
+        when(indexOps.ensureIndex(any(IndexDefinition.class))).thenAnswer(invocation -> {
+            String name = "index-" + created.size();
+            created.add(name);
+            return name;
+        });
+    }
+
+    @Test
+    void missingIndexStopsStartup() {
+        when(indexOps.getIndexInfo()).thenReturn(List.of()); // 생성 요청은 성공했지만 실제로는 없음
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new MongoIndexInitializer(mongoTemplate, true).ensureIndexes());
+        assertTrue(e.getMessage().contains("collection.index-0"));
+    }
+
+    @Test
+    void missingIndexIsOnlyReportedWhenNotRequired() {
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+
+        assertDoesNotThrow(() -> new MongoIndexInitializer(mongoTemplate, false).ensureIndexes());
+    }
+
+    @Test
+    void verifiedIndexesStartNormally() {
+        when(indexOps.getIndexInfo()).thenAnswer(invocation -> created.stream()
+                .map(name -> new IndexInfo(List.of(), name, false, false, ""))
+                .toList());
+
+        assertDoesNotThrow(() -> new MongoIndexInitializer(mongoTemplate, true).ensureIndexes());
+        assertTrue(!created.isEmpty());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.usedauction.controller;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.BidRepository;
+import com.example.usedauction.repository.BidRepositoryCustom.BidOrder;
+import com.example.usedauction.repository.ItemRepository;
+import com.example.usedauction.service.BatchingBidWriter;
+import com.example.usedauction.service.BidLeaderboardService;
+import com.example.usedauction.service.BidLeaderboardService.TopBids;
+import com.example.usedauction.service.BidRateLimiter;
+import com.example.usedauction.service.BidSequencer;
+import com.example.usedauction.service.BidService;
+import com.example.usedauction.service.IdempotencyStore;
+import com.example.usedauction.service.ItemCache;
+import com.example.usedauction.service.NicknameCache;
+import com.example.usedauction.service.ProxyBidService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 입찰 기록 조회의 조건부 요청: 상품의 입찰 횟수로만 버전을 정하고, 정렬과 cursor가 다르면 다른 ETag
+class BidControllerTest {
+
+    private static final String ITEM_ID = "item-1";
+
+    private final BidRepository bidRepository = mock(BidRepository.class);
+    private final ItemCache itemCache = mock(ItemCache.class);
+    private final NicknameCache nicknameCache = mock(NicknameCache.class);
+    private final BidLeaderboardService bidLeaderboardService = mock(BidLeaderboardService.class);
+    private final List<Bid> bids = new ArrayList<>(); // 저장된 입찰 기록 (금액 순)
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Bid bid = new Bid();
+            bid.setId("bid-" + i);
+            bid.setItemId(ITEM_ID);
+            bid.setBidderId("bidder-" + i);
+            bid.setBidAmount(1000 + i * 100);
+            bid.setBidTime(new Date(1_000L * i));
+            bids.add(0, bid);
+        }
+        when(itemCache.get(ITEM_ID)).thenAnswer(invocation -> Optional.of(item(bids.size())));
+        when(bidRepository.findPageByItemId(eq(ITEM_ID), any(BidOrder.class), any(), anyInt()))
+                .thenAnswer(invocation -> bids.subList(0, Math.min(bids.size(), invocation.<Integer>getArgument(3))));
+        when(nicknameCache.getNicknames(any())).thenReturn(Map.of());
+
+        BidService bidService = new BidService(bidRepository, nicknameCache, mock(ItemRepository.class),
+                mock(BidSequencer.class), mock(BatchingBidWriter.class), mock(ApplicationEventPublisher.class), itemCache);
+        BidController controller = new BidController(bidService, bidLeaderboardService,
+                mock(ProxyBidService.class), mock(BidRateLimiter.class), mock(IdempotencyStore.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void unchangedHistoryIsNotModifiedWithoutReadingBids() throws Exception {
+        String etag = mockMvc.perform(get("/api/bids/" + ITEM_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertTrue(etag.startsWith("W/\"3-amount-")); // 닉네임은 버전에 없으므로 weak ETag
+
+        mockMvc.perform(get("/api/bids/" + ITEM_ID).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        verify(bidRepository, never()).countByItemId(anyString()); // 입찰 기록 수를 세지 않음
+        verify(bidRepository).findPageByItemId(eq(ITEM_ID), any(BidOrder.class), any(), anyInt()); // 304에서는 목록을 읽지 않음
+    }
+
+    @Test
+    void newBidChangesTheTag() throws Exception {
+        String etag = mockMvc.perform(get("/api/bids/" + ITEM_ID)).andReturn().getResponse().getHeader("ETag");
+
+        Bid bid = new Bid();
+        bid.setId("bid-3");
+        bid.setBidderId("bidder-3");
+        bid.setBidAmount(1300);
+        bid.setBidTime(new Date(3_000L));
+        bids.add(0, bid);
+
+        MvcResult result = mockMvc.perform(get("/api/bids/" + ITEM_ID).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertTrue(result.getResponse().getHeader("ETag").startsWith("W/\"4-amount-"));
+    }
+
+    @Test
+    void sortAndCursorArePartOfTheTag() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/bids/" + ITEM_ID).param("size", "2")).andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        String cursor = first.getResponse().getHeader(BidController.NEXT_CURSOR_HEADER);
+
+        // 같은 입찰 횟수라도 다른 정렬이나 다음 페이지는 304가 아님
+        String byTime = mockMvc.perform(get("/api/bids/" + ITEM_ID).param("size", "2").param("sort", "time")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String nextPage = mockMvc.perform(get("/api/bids/" + ITEM_ID).param("size", "2").param("cursor", cursor)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, byTime);
+        assertNotEquals(etag, nextPage);
+
+        mockMvc.perform(get("/api/bids/" + ITEM_ID).param("size", "2").param("cursor", cursor)
+                        .header("If-None-Match", nextPage))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void invalidCursorIsRejectedBeforeTheTagIsCompared() throws Exception {
+        mockMvc.perform(get("/api/bids/" + ITEM_ID).param("cursor", "\"x\"").header("If-None-Match", "*"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void topBidsOfAnUnknownItemIsNotFound() throws Exception {
+        when(bidLeaderboardService.getTopBids("missing")).thenReturn(Optional.empty());
+        when(bidLeaderboardService.getTopBids(ITEM_ID)).thenReturn(Optional.of(new TopBids(ITEM_ID, 3, List.of())));
+
+        mockMvc.perform(get("/api/bids/missing/top")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/bids/" + ITEM_ID + "/top")).andExpect(status().isOk());
+    }
+
+    private static Item item(int bidCount) {
+        Item item = new Item();
+        item.setId(ITEM_ID);
+        item.setBidCount(bidCount);
+        return item;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.usedauction.controller;
+
+import com.example.usedauction.service.ImageStore;
+import com.example.usedauction.service.ThumbnailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageFileFilterTest {
+
+    @TempDir
+    Path dir;
+
+    private final byte[] content = new byte[1000];
+    private ThumbnailService thumbnailService;
+    private ImageFileFilter filter;
+    private String imageId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        ImageStore imageStore = new ImageStore(dir.toString());
+        thumbnailService = new ThumbnailService(imageStore, new SimpleMeterRegistry(), 1, 4);
+        filter = new ImageFileFilter(imageStore, thumbnailService);
+        imageId = imageStore.store(new ByteArrayInputStream(content));
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    void servesWholeFileWithImmutableCaching() throws Exception {
+        MockHttpServletResponse response = get("/api/images/" + imageId, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + imageId + "\"", response.getHeader("ETag"));
+        assertEquals("public, max-age=31536000, immutable", response.getHeader("Cache-Control"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void servesSingleByteRanges() throws Exception {
+        MockHttpServletResponse middle = get("/api/images/" + imageId, "bytes=100-199");
+        assertEquals(206, middle.getStatus());
+        assertEquals("bytes 100-199/1000", middle.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), middle.getContentAsByteArray());
+
+        MockHttpServletResponse suffix = get("/api/images/" + imageId, "bytes=-10");
+        assertEquals("bytes 990-999/1000", suffix.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, 990, 1000), suffix.getContentAsByteArray());
+
+        MockHttpServletResponse unsatisfiable = get("/api/images/" + imageId, "bytes=5000-");
+        assertEquals(416, unsatisfiable.getStatus());
+        assertEquals("bytes */1000", unsatisfiable.getHeader("Content-Range"));
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEtag() throws Exception {
+        MockHttpServletRequest request = request("/api/images/" + imageId);
+        request.addHeader("If-None-Match", "\"" + imageId + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentLength());
+    }
+
+    @Test
+    void handsFileToTomcatSendfileWhenSupported() throws Exception {
+        MockHttpServletRequest request = request("/api/images/" + imageId);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=10-19");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(206, response.getStatus());
+        assertNotNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(20L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length); // 내용은 Tomcat이 전송
+    }
+
+    @Test
+    void servesOriginalBrieflyUntilThumbnailExists() throws Exception {
+        MockHttpServletResponse response = get("/api/images/" + imageId + "/thumbnails/160", null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("public, max-age=60", response.getHeader("Cache-Control"));
+        assertNull(response.getHeader("ETag"));
+        assertEquals(404, get("/api/images/" + imageId + "/thumbnails/999", null).getStatus());
+    }
+
+    @Test
+    void servesOriginalWithoutRenderingWhenThumbnailQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> renderThreads = new CopyOnWriteArrayList<>();
+        ImageStore blocking = new ImageStore(dir.resolve("blocking").toString()) {
+            @Override
+            public void storeThumbnail(String imageId, int size, ContentWriter writer) {
+                renderThreads.add(Thread.currentThread());
+            }
+
+            @Override
+            public Optional<Path> find(String imageId) {
+                if (Thread.currentThread().getName().startsWith("thumbnail-")) {
+                    started.countDown();
+                    try {
+                        release.await(); // 작업 스레드가 다른 이미지에 묶여 있음
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.find(imageId);
+            }
+        };
+        ThumbnailService saturated = new ThumbnailService(blocking, new SimpleMeterRegistry(), 1, 1);
+        try {
+            ImageFileFilter saturatedFilter = new ImageFileFilter(blocking, saturated);
+            saturated.submit(blocking.store(new ByteArrayInputStream(new byte[]{1})));
+            assertTrue(started.await(5, TimeUnit.SECONDS)); // 작업 중
+            saturated.submit(blocking.store(new ByteArrayInputStream(new byte[]{2}))); // 대기열의 유일한 자리
+            byte[] png = png();
+            String requested = blocking.store(new ByteArrayInputStream(png));
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            saturatedFilter.doFilter(request("/api/images/" + requested + "/thumbnails/160"), response, new MockFilterChain());
+
+            assertEquals(200, response.getStatus());
+            assertEquals("public, max-age=60", response.getHeader("Cache-Control"));
+            assertArrayEquals(png, response.getContentAsByteArray()); // 원본
+            assertFalse(renderThreads.contains(Thread.currentThread())); // 요청 스레드에서 만들지 않음
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    void passesOtherRequestsToTheChain() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/api/images/not-a-hash"), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+
+        MockHttpServletRequest upload = request("/api/images");
+        upload.setMethod("POST");
+        MockFilterChain uploadChain = new MockFilterChain();
+        filter.doFilter(upload, new MockHttpServletResponse(), uploadChain);
+        assertNotNull(uploadChain.getRequest());
+    }
+
+    private MockHttpServletResponse get(String uri, String range) throws Exception {
+        MockHttpServletRequest request = request(uri);
+        if (range != null) {
+            request.addHeader("Range", range);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static byte[] png() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(320, 200, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.usedauction.controller;
+
+import com.example.usedauction.model.Item;
+import com.example.usedauction.service.ItemService;
+import com.example.usedauction.service.ItemVersionConflictException;
+import com.example.usedauction.service.TrendingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 상품 조회(If-None-Match → 304)와 수정(If-Match → 412)의 조건부 요청
+class ItemControllerTest {
+
+    private static final String ITEM_ID = "item-1";
+    private static final String BODY = "{\"title\":\"new title\",\"description\":\"desc\",\"region\":\"서울\"}";
+
+    private final ItemService itemService = mock(ItemService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        Item item = new Item();
+        item.setId(ITEM_ID);
+        item.setVersion(3);
+        when(itemService.getItemById(ITEM_ID)).thenReturn(Optional.of(item));
+
+        ItemController controller = new ItemController();
+        ReflectionTestUtils.setField(controller, "itemService", itemService);
+        ReflectionTestUtils.setField(controller, "trendingService", mock(TrendingService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("seller@example.com", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sameVersionIsNotModified() throws Exception {
+        mockMvc.perform(get("/api/items/" + ITEM_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(get("/api/items/" + ITEM_ID).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+        mockMvc.perform(get("/api/items/" + ITEM_ID).header("If-None-Match", "W/\"3\"")) // 약한 비교
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void changedVersionIsSentAgain() throws Exception {
+        mockMvc.perform(get("/api/items/" + ITEM_ID).header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void updateWithStaleVersionFailsPrecondition() throws Exception {
+        when(itemService.updateItem(eq(ITEM_ID), any(), any(), any(), eq(2L)))
+                .thenThrow(new ItemVersionConflictException(ITEM_ID));
+
+        mockMvc.perform(put("/api/items/" + ITEM_ID).header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateWithCurrentVersionReturnsTheNewTag() throws Exception {
+        Item updated = new Item();
+        updated.setId(ITEM_ID);
+        updated.setVersion(4);
+        when(itemService.updateItem(ITEM_ID, "new title", "desc", "서울", 3L)).thenReturn(updated);
+
+        mockMvc.perform(put("/api/items/" + ITEM_ID).header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void malformedIfMatchIsABadRequest() throws Exception {
+        mockMvc.perform(put("/api/items/" + ITEM_ID).header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).updateItem(any(), any(), any(), any(), any());
+    }
+}
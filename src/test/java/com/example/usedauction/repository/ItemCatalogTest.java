@@ -0,0 +1,155 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.Item;
+import com.example.usedauction.service.AuctionCloseScheduler;
+import com.example.usedauction.service.EndingSoonService;
+import com.example.usedauction.service.ItemCache;
+import com.example.usedauction.service.ItemService;
+import com.example.usedauction.service.ItemService.ItemCard;
+import com.example.usedauction.service.ItemService.ItemCatalogPage;
+import com.example.usedauction.service.ItemTextSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 상품 목록(/api/items/catalog): 카드 필드만 읽는지(projection)와 nextCursor로 모든 페이지를 빠짐없이 넘기는지 확인
+@DataMongoTest
+@Import({ItemService.class, SimpleMeterRegistry.class})
+class ItemCatalogTest {
+
+    private static final int ITEMS = 25;
+
+    @MockBean
+    private AuctionCloseScheduler auctionCloseScheduler;
+
+    @MockBean
+    private ItemTextSearchService itemTextSearchService;
+
+    @MockBean
+    private ItemCache itemCache;
+
+    @MockBean
+    private EndingSoonService endingSoonService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @BeforeEach
+    void seed() {
+        itemRepository.deleteAll();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = new Item();
+            item.setTitle("item-" + i);
+            item.setDescription("long description " + i);
+            item.setRegion("서울");
+            item.setUserId("seller-" + i);
+            item.setWinnerId("winner-" + i);
+            item.setPrice(1000);
+            item.setBidUnit(100);
+            item.setLastPrice(1000 + i);
+            item.setEndDateTime(LocalDateTime.now().plusHours(1));
+            item.setItemImages(List.of("first-" + i, "second-" + i, "third-" + i));
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+    }
+
+    @Test
+    void cardPageReadsOnlyCardFields() {
+        List<Item> page = itemRepository.findCardPage(new ItemSearchFilter(), null, LocalDateTime.now(), 5);
+
+        assertEquals(5, page.size());
+        for (Item item : page) {
+            assertNotNull(item.getId());
+            assertNotNull(item.getTitle());
+            assertNotNull(item.getEndDateTime());
+            assertEquals("서울", item.getRegion());
+            int n = Integer.parseInt(item.getTitle().substring("item-".length()));
+            assertEquals(1000 + n, item.getLastPrice());
+            assertEquals(List.of("first-" + n), item.getItemImages()); // 첫 번째 이미지만
+
+            // 카드에 없는 필드는 읽지 않음
+            assertNull(item.getDescription());
+            assertNull(item.getUserId());
+            assertNull(item.getWinnerId());
+            assertEquals(0, item.getPrice());
+            assertEquals(0, item.getBidUnit());
+        }
+    }
+
+    @Test
+    void nextCursorWalksEveryItemOnceNewestFirst() {
+        List<ItemCard> all = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            ItemCatalogPage page = itemService.getItemCatalog(cursor, 10, false);
+            all.addAll(page.getItems());
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(10, 10, 5), pageSizes);
+        Set<String> ids = all.stream().map(ItemCard::getId).collect(Collectors.toSet());
+        assertEquals(ITEMS, ids.size());
+        assertEquals(new HashSet<>(itemRepository.findAll().stream().map(Item::getId).toList()), ids);
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getId().compareTo(all.get(i).getId()) > 0); // 최신 순
+        }
+        assertEquals("item-" + (ITEMS - 1), all.get(0).getTitle());
+        assertEquals("first-" + (ITEMS - 1), all.get(0).getImage());
+    }
+
+    @Test
+    void priceRangeUsesStartingPriceUntilTheFirstBid() {
+        Item notBid = new Item(); // 등록 직후 (lastPrice 0)
+        notBid.setTitle("not-bid");
+        notBid.setPrice(5000);
+        notBid.setEndDateTime(LocalDateTime.now().plusHours(1));
+        Item bid = new Item();
+        bid.setTitle("bid");
+        bid.setPrice(100);
+        bid.setLastPrice(6000);
+        bid.setBidCount(2);
+        bid.setEndDateTime(LocalDateTime.now().plusHours(1));
+        itemRepository.saveAll(List.of(notBid, bid));
+
+        assertEquals(List.of("not-bid"), titles(4000, 5500));
+        assertEquals(List.of("bid"), titles(5500, null));
+        assertEquals(List.of(), titles(null, 500)); // 입찰이 있으면 시작 가격은 보지 않음
+        assertEquals(ITEMS, titles(1000, 1000).size()); // 입찰이 없는 기존 상품은 시작 가격 1000
+    }
+
+    @Test
+    void rejectsCursorsThatAreNotItemIds() {
+        assertThrows(IllegalArgumentException.class, () -> itemService.getItemCatalog("not-an-id", 10, false));
+    }
+
+    private List<String> titles(Integer minPrice, Integer maxPrice) {
+        ItemSearchFilter filter = new ItemSearchFilter();
+        filter.setMinPrice(minPrice);
+        filter.setMaxPrice(maxPrice);
+        return itemRepository.findCardPage(filter, null, LocalDateTime.now(), 50).stream().map(Item::getTitle).toList();
+    }
+}
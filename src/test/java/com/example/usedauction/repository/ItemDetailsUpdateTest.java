@@ -0,0 +1,104 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 상품 정보 수정(제목, 설명, 지역)이 그 사이 바뀐 현재가, 입찰 횟수, 이미지를 덮어쓰지 않는지 확인
+@DataMongoTest
+class ItemDetailsUpdateTest {
+
+    private static final int BIDS = 50;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private String itemId;
+
+    @BeforeEach
+    void seed() {
+        itemRepository.deleteAll();
+        Item item = new Item();
+        item.setTitle("old title");
+        item.setDescription("old description");
+        item.setRegion("서울");
+        item.setPrice(1000);
+        item.setBidUnit(100);
+        item.setLastPrice(1000);
+        item.setEndDateTime(LocalDateTime.now().plusHours(1));
+        item.setItemImages(List.of("image-1"));
+        itemId = itemRepository.save(item).getId();
+    }
+
+    @Test
+    void detailsUpdateKeepsPriceAndImagesChangedAfterTheItemWasRead() {
+        Item stale = itemRepository.findById(itemId).orElseThrow(); // 수정 화면을 연 시점의 상품
+
+        itemRepository.raiseLastPrice(itemId, 1500, LocalDateTime.now()); // 그 사이 들어온 입찰
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(itemId)),
+                new Update().push("itemImages", "image-2"), Item.class); // 그 사이 추가된 이미지
+
+        Optional<Item> updated = itemRepository.updateDetails(itemId, "new title", "new description", "부산", null);
+        assertTrue(updated.isPresent());
+
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        assertEquals("new title", item.getTitle());
+        assertEquals("new description", item.getDescription());
+        assertEquals("부산", item.getRegion());
+        assertEquals(1500, item.getLastPrice());
+        assertEquals(1, item.getBidCount());
+        assertEquals(List.of("image-1", "image-2"), item.getItemImages());
+        assertEquals(1000, stale.getLastPrice());
+    }
+
+    @Test
+    void concurrentBidsAndDetailUpdatesAreAllKept() throws Exception {
+        int accepted = 0; // 늦게 도착한 낮은 금액의 입찰은 거절됨
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<Item>>> bids = new ArrayList<>();
+            List<Future<Optional<Item>>> updates = new ArrayList<>();
+            for (int i = 1; i <= BIDS; i++) {
+                int amount = 1000 + i * 100;
+                int n = i;
+                bids.add(executor.submit(() -> itemRepository.raiseLastPrice(itemId, amount, LocalDateTime.now())));
+                updates.add(executor.submit(() ->
+                        itemRepository.updateDetails(itemId, "title-" + n, "description-" + n, "서울", null)));
+            }
+            for (Future<Optional<Item>> bid : bids) {
+                accepted += bid.get().isPresent() ? 1 : 0;
+            }
+            for (Future<Optional<Item>> update : updates) {
+                assertTrue(update.get().isPresent());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        assertEquals(1000 + BIDS * 100, item.getLastPrice()); // 가장 높은 입찰은 항상 받아들여짐
+        assertEquals(accepted, item.getBidCount()); // 받아들여진 입찰 횟수가 정보 수정으로 사라지지 않음
+        assertEquals(List.of("image-1"), item.getItemImages());
+        assertTrue(item.getTitle().startsWith("title-"));
+    }
+}
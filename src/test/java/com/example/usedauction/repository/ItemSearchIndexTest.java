@@ -0,0 +1,99 @@
+package com.example.usedauction.repository;
+
+import com.example.usedauction.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 상품 검색 조건의 모든 조합이 인덱스를 사용하는지(COLLSCAN이 아닌지) 확인
+@DataMongoTest
+class ItemSearchIndexTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void seed() {
+        itemRepository.deleteAll();
+        LocalDateTime now = LocalDateTime.now();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Item item = new Item();
+            item.setTitle("item-" + i);
+            item.setRegion(i % 2 == 0 ? "서울" : "부산");
+            item.setUserId("seller-" + (i % 5));
+            item.setLastPrice(i * 100);
+            item.setEndDateTime(i % 3 == 0 ? now.minusHours(1) : now.plusHours(1));
+            item.setClosed(i % 6 == 0);
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+    }
+
+    @Test
+    void everyFilterCombinationUsesAnIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int mask = 0; mask < 32; mask++) {
+            ItemSearchFilter filter = new ItemSearchFilter();
+            if ((mask & 1) != 0) {
+                filter.setRegion("서울");
+            }
+            if ((mask & 2) != 0) {
+                filter.setSellerId("seller-1");
+            }
+            if ((mask & 4) != 0) {
+                filter.setMinPrice(1_000);
+            }
+            if ((mask & 8) != 0) {
+                filter.setMaxPrice(15_000);
+            }
+            if ((mask & 16) != 0) {
+                filter.setStatus(ItemSearchFilter.Status.ACTIVE);
+            }
+
+            String index = itemRepository.explainCardPage(filter, null, now, 21);
+            assertNotEquals("COLLSCAN", index, filter.shape());
+        }
+
+        ItemSearchFilter ended = new ItemSearchFilter();
+        ended.setStatus(ItemSearchFilter.Status.ENDED);
+        assertNotEquals("COLLSCAN", itemRepository.explainCardPage(ended, null, now, 21));
+    }
+
+    @Test
+    void filtersAndKeysetPagesMatchTheSeedData() {
+        LocalDateTime now = LocalDateTime.now();
+        ItemSearchFilter filter = new ItemSearchFilter();
+        filter.setRegion("서울");
+        filter.setStatus(ItemSearchFilter.Status.ACTIVE);
+
+        List<Item> all = new ArrayList<>();
+        String after = null;
+        while (true) {
+            List<Item> page = itemRepository.findCardPage(filter, after, now, 7);
+            all.addAll(page);
+            if (page.size() < 7) {
+                break;
+            }
+            after = page.get(page.size() - 1).getId();
+        }
+
+        // 짝수 번호(서울) 중 3의 배수가 아닌(종료 전) 상품
+        long expected = IntStream.range(0, 200).filter(i -> i % 2 == 0 && i % 3 != 0).count();
+        assertEquals(expected, all.size());
+        assertTrue(all.stream().allMatch(item -> "서울".equals(item.getRegion()) && item.getDescription() == null));
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getId().compareTo(all.get(i).getId()) > 0); // 최신 순, 중복 없음
+        }
+    }
+}
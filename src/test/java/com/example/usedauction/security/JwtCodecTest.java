@@ -0,0 +1,92 @@
+package com.example.usedauction.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtCodecTest {
+
+    private static final String OLD_SECRET = "old-secret-key-that-is-at-least-32-characters";
+    private static final String NEW_SECRET = "new-secret-key-that-is-at-least-32-characters";
+
+    @Test
+    void decodesSubjectAndExpiryInOneCall() {
+        JwtCodec codec = new JwtCodec(OLD_SECRET);
+        long before = System.currentTimeMillis();
+
+        Claims claims = codec.decode(codec.encode("a@example.com", 60_000));
+
+        assertEquals("a@example.com", claims.getSubject());
+        assertTrue(claims.getExpiration().getTime() >= (before + 60_000) / 1000 * 1000); // exp는 초 단위
+    }
+
+    @Test
+    void rejectsExpiredAndForgedTokens() {
+        JwtCodec codec = new JwtCodec(OLD_SECRET);
+        JwtCodec other = new JwtCodec(NEW_SECRET);
+
+        assertThrows(RuntimeException.class, () -> codec.decode(codec.encode("a@example.com", -1_000)));
+        assertThrows(RuntimeException.class, () -> codec.decode(other.encode("a@example.com", 60_000)));
+        assertThrows(RuntimeException.class, () -> codec.decode("not-a-token"));
+    }
+
+    @Test
+    void verifiesTokensSignedBeforeRotationUntilTheOldKeyIsRetired() {
+        JwtCodec codec = new JwtCodec(OLD_SECRET, "k1", "");
+        String oldToken = codec.encode("a@example.com", 60_000);
+
+        codec.rotate("k2", NEW_SECRET);
+        String newToken = codec.encode("b@example.com", 60_000);
+
+        assertEquals("k2", codec.currentKeyId());
+        assertEquals("a@example.com", codec.decode(oldToken).getSubject());
+        assertEquals("b@example.com", codec.decode(newToken).getSubject());
+
+        codec.retire("k1");
+        assertThrows(RuntimeException.class, () -> codec.decode(oldToken));
+        assertEquals("b@example.com", codec.decode(newToken).getSubject());
+        assertThrows(IllegalArgumentException.class, () -> codec.retire("k2"));
+    }
+
+    @Test
+    void acceptsConfiguredPreviousKeysAndTokensWithoutKeyId() {
+        String oldToken = new JwtCodec(OLD_SECRET, "k1", "").encode("a@example.com", 60_000);
+        JwtCodec codec = new JwtCodec(NEW_SECRET, "k2", "k1:" + OLD_SECRET);
+
+        assertEquals("a@example.com", codec.decode(oldToken).getSubject());
+        assertEquals("c@example.com", codec.decode(legacyToken("c@example.com", OLD_SECRET)).getSubject()); // k1로 검증
+        assertThrows(RuntimeException.class, () -> codec.decode(legacyToken("d@example.com", NEW_SECRET)));
+    }
+
+    @Test
+    void tokensWithoutKeyIdKeepUsingTheLegacyKeyAfterRotation() {
+        JwtCodec codec = new JwtCodec(OLD_SECRET); // kid를 넣기 전과 같은 키 (k1)
+        String legacy = legacyToken("c@example.com", OLD_SECRET);
+        assertEquals("c@example.com", codec.decode(legacy).getSubject());
+
+        codec.rotate("k2", NEW_SECRET);
+        assertEquals("c@example.com", codec.decode(legacy).getSubject());
+        codec.rotate("k3", "third-secret-key-that-is-at-least-32-characters");
+        assertEquals("c@example.com", codec.decode(legacy).getSubject());
+
+        codec.retire("k1");
+        assertThrows(RuntimeException.class, () -> codec.decode(legacy));
+    }
+
+    // kid를 넣기 전에 발급된 토큰 (헤더에 kid 없음)
+    private static String legacyToken(String subject, String secret) {
+        return Jwts.builder().setSubject(subject)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.usedauction.security;
+
+import com.example.usedauction.service.UserDeletedEvent;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtRequestFilterTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-characters";
+
+    private UserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+    private JwtRequestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(anyString())).thenAnswer(invocation ->
+                User.builder().username(invocation.getArgument(0)).password("{noop}pw").authorities("USER").build());
+        principalCache = new PrincipalCache(new SimpleMeterRegistry(), 100, 300);
+        filter = new JwtRequestFilter(new JwtTokenProvider(new JwtCodec(SECRET)), userDetailsService, principalCache);
+    }
+
+    @Test
+    void repeatedRequestsWithTheSameTokenLoadTheUserOnce() {
+        String token = token("a@example.com", 60_000);
+
+        assertEquals("a@example.com", filter.resolveUser(token).getUsername());
+        assertEquals("a@example.com", filter.resolveUser(token).getUsername());
+        assertEquals("b@example.com", filter.resolveUser(token("b@example.com", 60_000)).getUsername());
+
+        verify(userDetailsService, times(1)).loadUserByUsername("a@example.com");
+        verify(userDetailsService, times(1)).loadUserByUsername("b@example.com");
+    }
+
+    @Test
+    void deletedUsersAreLoadedAgain() {
+        String token = token("a@example.com", 60_000);
+        filter.resolveUser(token);
+
+        principalCache.onUserDeleted(new UserDeletedEvent("user-1", "a@example.com"));
+        filter.resolveUser(token);
+
+        verify(userDetailsService, times(2)).loadUserByUsername("a@example.com");
+    }
+
+    @Test
+    void entriesExpireWithTheToken() throws Exception {
+        long exp = (System.currentTimeMillis() / 1000 + 2) * 1000; // exp는 초 단위
+        String token = token("a@example.com", exp - System.currentTimeMillis());
+        filter.resolveUser(token);
+
+        Thread.sleep(exp - System.currentTimeMillis() + 100);
+
+        assertThrows(RuntimeException.class, () -> filter.resolveUser(token)); // 캐시에서 사라지고 만료된 토큰으로 거절
+        assertEquals(0, principalCache.size());
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        String forged = Jwts.builder().setSubject("a@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-that-is-at-least-32-chars".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThrows(RuntimeException.class, () -> filter.resolveUser(forged));
+    }
+
+    private static String token(String email, long validityMillis) {
+        return Jwts.builder().setSubject(email)
+                .setExpiration(new Date(System.currentTimeMillis() + validityMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.repository.BidRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteInsert;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchingBidWriterTest {
+
+    private static final int BATCH = 4;
+
+    private final BidRepository repository = mock(BidRepository.class);
+    private final ExecutorService bidders = Executors.newFixedThreadPool(BATCH);
+    private BatchingBidWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        bidders.shutdownNow();
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void onlyTheFailedBidOfAnOrderedBulkInsertIsRejected() throws Exception {
+        AtomicReference<List<Bid>> batch = new AtomicReference<>();
+        when(repository.insert(anyIterable())).thenAnswer(invocation -> {
+            List<Bid> bids = new ArrayList<>();
+            invocation.<Iterable<Bid>>getArgument(0).forEach(bids::add);
+            batch.set(bids);
+            // 0번은 저장, 1번은 유일 키 위반, 2, 3번은 ordered insert라 시도되지 않음
+            BulkWriteResult result = BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(),
+                    List.of(new BulkWriteInsert(0, new BsonString(bids.get(0).getId()))));
+            MongoBulkWriteException bulk = new MongoBulkWriteException(result,
+                    List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)),
+                    null, new ServerAddress(), Set.of());
+            throw new DuplicateKeyException(bulk.getMessage(), bulk);
+        });
+        when(repository.insert(any(Bid.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        writer = new BatchingBidWriter(repository, new SimpleMeterRegistry(), true, BATCH, 5_000, 100);
+
+        List<Future<Bid>> results = placeConcurrently();
+
+        int failures = 0;
+        for (Future<Bid> result : results) {
+            try {
+                Bid saved = result.get();
+                assertNotNull(saved.getId());
+            } catch (ExecutionException e) {
+                failures++;
+                assertInstanceOf(DuplicateKeyException.class, e.getCause());
+            }
+        }
+        assertEquals(1, failures);
+        Bid rejected = batch.get().get(1);
+        verify(repository, never()).insert(batch.get().get(0)); // 이미 저장된 입찰은 다시 저장하지 않음
+        verify(repository, never()).insert(rejected);
+        verify(repository).insert(batch.get().get(2));
+        verify(repository).insert(batch.get().get(3));
+    }
+
+    @Test
+    void bidsAreRetriedOneByOneWhenTheBulkOutcomeIsUnknown() throws Exception {
+        AtomicReference<List<Bid>> batch = new AtomicReference<>();
+        when(repository.insert(anyIterable())).thenAnswer(invocation -> {
+            List<Bid> bids = new ArrayList<>();
+            invocation.<Iterable<Bid>>getArgument(0).forEach(bids::add);
+            batch.set(bids);
+            throw new DataAccessResourceFailureException("connection reset"); // 어디까지 저장되었는지 알 수 없음
+        });
+        when(repository.insert(any(Bid.class))).thenAnswer(invocation -> {
+            Bid bid = invocation.getArgument(0);
+            if (bid == batch.get().get(0)) {
+                throw new DuplicateKeyException("E11000 duplicate key _id"); // 연결이 끊기기 전에 저장된 입찰
+            }
+            return bid;
+        });
+        when(repository.existsById(anyString())).thenAnswer(invocation ->
+                invocation.getArgument(0).equals(batch.get().get(0).getId()));
+        writer = new BatchingBidWriter(repository, new SimpleMeterRegistry(), true, BATCH, 5_000, 100);
+
+        for (Future<Bid> result : placeConcurrently()) {
+            assertNotNull(result.get().getId());
+        }
+        verify(repository, times(BATCH)).insert(any(Bid.class));
+    }
+
+    @Test
+    void singleRetryKeepsIdempotencyConflictsAsFailures() throws Exception {
+        when(repository.insert(anyIterable())).thenThrow(new DataAccessResourceFailureException("connection reset"));
+        when(repository.insert(any(Bid.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key idempotencyKey"));
+        when(repository.existsById(anyString())).thenReturn(false);
+        writer = new BatchingBidWriter(repository, new SimpleMeterRegistry(), true, 1, 5_000, 100);
+
+        assertThrows(DuplicateKeyException.class,
+                () -> writer.insert(BidService.newBid("item-1", "bidder-1", 1000, "bidder-1:key")));
+    }
+
+    @Test
+    void insertAfterShutdownFailsInsteadOfWaitingForever() {
+        writer = new BatchingBidWriter(repository, new SimpleMeterRegistry(), true, BATCH, 5_000, 100);
+        writer.shutdown();
+
+        Future<Bid> result = bidders.submit(() -> writer.insert(BidService.newBid("item-1", "bidder-1", 1000, null)));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        verify(repository, never()).insert(anyIterable());
+    }
+
+    private List<Future<Bid>> placeConcurrently() {
+        List<Future<Bid>> results = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            int amount = 1000 + i;
+            results.add(bidders.submit(() -> writer.insert(BidService.newBid("item-1", "bidder-" + amount, amount, null))));
+        }
+        return results;
+    }
+}
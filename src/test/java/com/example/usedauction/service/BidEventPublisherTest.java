@@ -0,0 +1,107 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BidEventPublisherTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final NicknameCache nicknameCache = mock(NicknameCache.class);
+    private final BidEventPublisher publisher = new BidEventPublisher(messagingTemplate, nicknameCache);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch blocked = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        publisher.shutdown();
+    }
+
+    @Test
+    void olderEventArrivingLaterDoesNotReplaceThePendingOne() throws Exception {
+        blockPublisherThread();
+
+        publisher.onBidPlaced(event("item-1", 1500, 5));
+        publisher.onBidPlaced(event("item-1", 1300, 3)); // 리스너 호출 순서가 입찰 순서와 다른 경우
+        publisher.onBidPlaced(event("item-1", 1400, 4));
+        release.countDown();
+
+        BidEventPublisher.BidEvent sent = sentEvents("item-1", 1);
+        assertEquals(1500, sent.getPrice());
+        assertEquals(5, sent.getBidCount());
+    }
+
+    @Test
+    void staleEventAfterASendIsDropped() throws Exception {
+        publisher.onBidPlaced(event("item-1", 1500, 5));
+        sentEvents("item-1", 1);
+
+        publisher.onBidPlaced(event("item-1", 1400, 4));
+        publisher.onBidPlaced(event("item-1", 1600, 6));
+
+        BidEventPublisher.BidEvent latest = sentEvents("item-1", 2);
+        assertEquals(6, latest.getBidCount());
+    }
+
+    @Test
+    void nicknameIsResolvedBeforeTheEventIsQueued() throws Exception {
+        when(nicknameCache.getNickname("bidder")).thenReturn("닉네임");
+        blockPublisherThread();
+
+        publisher.onBidPlaced(event("item-1", 1500, 5));
+        verify(nicknameCache, times(2)).getNickname("bidder"); // 전송 스레드가 멈춰 있어도 이미 조회됨 (멈춘 이벤트 포함)
+        release.countDown();
+
+        assertEquals("닉네임", sentEvents("item-1", 1).getBidderNickname());
+    }
+
+    @Test
+    void deletedItemsAreForgotten() throws Exception {
+        publisher.onBidPlaced(event("item-1", 1500, 5));
+        sentEvents("item-1", 1);
+
+        publisher.onItemDeleted(new ItemDeletedEvent("item-1"));
+        publisher.onBidPlaced(event("item-1", 1100, 1)); // 기록이 남아 있었다면 오래된 이벤트로 버려짐
+
+        assertEquals(1, sentEvents("item-1", 2).getBidCount());
+    }
+
+    // 첫 전송에서 전송 스레드를 멈춰 두어 이후 이벤트가 대기열에서 합쳐지도록 함
+    private void blockPublisherThread() throws InterruptedException {
+        doAnswer(invocation -> {
+            blocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(messagingTemplate).convertAndSend(eq("/topic/items/blocker"), any(Object.class));
+        publisher.onBidPlaced(event("blocker", 100, 1));
+        blocked.await(5, TimeUnit.SECONDS);
+    }
+
+    // 상품에 count번 전송될 때까지 기다리고 마지막 전송 내용을 반환
+    private BidEventPublisher.BidEvent sentEvents(String itemId, int count) {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, timeout(5_000).times(count)).convertAndSend(eq("/topic/items/" + itemId), payload.capture());
+        verify(messagingTemplate, times(count)).convertAndSend(eq("/topic/items/" + itemId), any(Object.class));
+        return (BidEventPublisher.BidEvent) payload.getValue();
+    }
+
+    private static BidPlacedEvent event(String itemId, int amount, int bidCount) {
+        return new BidPlacedEvent(BidService.newBid(itemId, "bidder", amount, null), bidCount);
+    }
+}
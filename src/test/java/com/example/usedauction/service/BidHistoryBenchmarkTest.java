@@ -0,0 +1,106 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.repository.BidRepository;
+import com.example.usedauction.repository.BidRepositoryCustom.BidOrder;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 입찰 기록 100만 건에서 상품별 첫 페이지 조회 시간이 입찰 수와 무관하게 일정한지 확인
+// 실행: RUN_BENCHMARKS=true ./gradlew test --tests '*BidHistoryBenchmarkTest'
+@DataMongoTest
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class BidHistoryBenchmarkTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 200;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void firstPageLatencyIsFlatAcrossItemSizes() {
+        // 입찰 수가 다른 세 상품에 총 100만 건을 저장
+        seed("small-item", 1_000);
+        seed("medium-item", 99_000);
+        seed("hot-item", 900_000);
+        assertEquals(1_000_000, bidRepository.count());
+
+        for (String itemId : List.of("small-item", "medium-item", "hot-item")) {
+            for (BidOrder order : BidOrder.values()) {
+                measure(itemId, order);
+            }
+        }
+    }
+
+    private void measure(String itemId, BidOrder order) {
+        for (int i = 0; i < 20; i++) {
+            bidRepository.findPageByItemId(itemId, order, null, PAGE_SIZE); // warm-up
+        }
+
+        long begin = System.nanoTime();
+        List<Bid> page = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            page = bidRepository.findPageByItemId(itemId, order, null, PAGE_SIZE);
+        }
+        double firstPageMillis = (System.nanoTime() - begin) / 1e6 / ROUNDS;
+
+        // 첫 페이지 이후 50페이지를 cursor로 따라가며 깊은 페이지의 비용도 확인
+        begin = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            page = bidRepository.findPageByItemId(itemId, order, page.get(page.size() - 1), PAGE_SIZE);
+        }
+        double deepPageMillis = (System.nanoTime() - begin) / 1e6 / 50;
+
+        System.out.printf("%s %s: first page %.3fms, next pages %.3fms, index %s%n",
+                itemId, order, firstPageMillis, deepPageMillis, winningIndex(itemId, order));
+    }
+
+    // 쿼리 플래너가 선택한 인덱스 이름 (COLLSCAN이 아닌지 확인용)
+    private String winningIndex(String itemId, BidOrder order) {
+        Document sort = order == BidOrder.AMOUNT
+                ? new Document("bidAmount", -1).append("bidTime", 1).append("_id", 1)
+                : new Document("bidTime", -1).append("_id", -1);
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain",
+                new Document("find", "bids")
+                        .append("filter", new Query(Criteria.where("itemId").is(itemId)).getQueryObject())
+                        .append("sort", sort)
+                        .append("limit", PAGE_SIZE)));
+        Matcher matcher = Pattern.compile("\"indexName\": \"([^\"]+)\"").matcher(explain.toJson());
+        return matcher.find() ? matcher.group(1) : "COLLSCAN";
+    }
+
+    private void seed(String itemId, int count) {
+        long start = System.currentTimeMillis() - count * 1000L;
+        List<Bid> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < count; i++) {
+            Bid bid = BidService.newBid(itemId, "bidder-" + (i % 500), 1_000 + i * 10, null);
+            bid.setBidTime(new Date(start + i * 1000L));
+            batch.add(bid);
+            if (batch.size() == 10_000) {
+                mongoTemplate.insert(batch, Bid.class);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Bid.class);
+        }
+    }
+}
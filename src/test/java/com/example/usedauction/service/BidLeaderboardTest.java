@@ -0,0 +1,128 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.BidRepository;
+import com.example.usedauction.repository.BidRepositoryCustom.BidOrder;
+import com.example.usedauction.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BidLeaderboardTest {
+
+    @Test
+    void ordersByAmountThenEarlierBidTime() {
+        BidLeaderboard leaderboard = new BidLeaderboard(5);
+        leaderboard.offer("a", 1000, 30);
+        leaderboard.offer("b", 1200, 20);
+        leaderboard.offer("c", 1000, 10); // a와 같은 금액이지만 먼저 입찰
+        leaderboard.offer("d", 1100, 40);
+
+        assertEquals(List.of(
+                new BidLeaderboard.Entry("b", 1200, 20),
+                new BidLeaderboard.Entry("d", 1100, 40),
+                new BidLeaderboard.Entry("c", 1000, 10),
+                new BidLeaderboard.Entry("a", 1000, 30)), leaderboard.getEntries());
+    }
+
+    @Test
+    void evictsTheLowestEntryAtCapacity() {
+        BidLeaderboard leaderboard = new BidLeaderboard(3);
+        leaderboard.offer("a", 1000, 1);
+        leaderboard.offer("b", 1100, 2);
+        leaderboard.offer("c", 1200, 3);
+        leaderboard.offer("d", 900, 4); // 가장 낮은 금액이라 들어가지 못함
+        leaderboard.offer("e", 1050, 5); // a를 밀어냄
+        leaderboard.offer("f", 1000, 0); // 남은 최하위(1050)보다 낮음
+
+        assertEquals(List.of(
+                new BidLeaderboard.Entry("c", 1200, 3),
+                new BidLeaderboard.Entry("b", 1100, 2),
+                new BidLeaderboard.Entry("e", 1050, 5)), leaderboard.getEntries());
+    }
+
+    @Test
+    void ignoresABidThatWasAlreadyLoaded() {
+        BidLeaderboard leaderboard = new BidLeaderboard(3);
+        leaderboard.offer("a", 1000, 1);
+        leaderboard.offer("b", 1100, 2);
+        leaderboard.offer("b", 1100, 2); // 데이터베이스에서 불러온 뒤 같은 입찰의 이벤트가 도착
+
+        assertEquals(2, leaderboard.getEntries().size());
+        leaderboard.updateBidCount(5);
+        leaderboard.updateBidCount(4); // 늦게 도착한 이전 값
+        assertEquals(5, leaderboard.getBidCount());
+    }
+
+    @Test
+    void serviceMergesEventsIntoTheLoadedLeaderboard() {
+        BidRepository bidRepository = mock(BidRepository.class);
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        NicknameCache nicknameCache = mock(NicknameCache.class);
+        Bid loaded = bid("a", 1000, 1);
+        when(bidRepository.findPageByItemId("item-1", BidOrder.AMOUNT, null, 3))
+                .thenReturn(List.of(bid("b", 1100, 2), loaded));
+        Item counts = new Item();
+        counts.setBidCount(2);
+        when(itemRepository.findBidCountById("item-1")).thenReturn(Optional.of(counts));
+        when(nicknameCache.getNicknames(anyCollection())).thenReturn(Map.of("a", "alice", "b", "bob", "c", "carol"));
+        BidLeaderboardService service = new BidLeaderboardService(bidRepository, itemRepository, nicknameCache, 3, 100, 60);
+
+        service.onBidPlaced(new BidPlacedEvent(bid("c", 1200, 3), 3)); // 처음 입찰 시 데이터베이스에서 불러온 뒤 반영
+        service.onBidPlaced(new BidPlacedEvent(loaded, 2)); // 이미 불러온 입찰
+
+        BidLeaderboardService.TopBids top = service.getTopBids("item-1").orElseThrow();
+        assertEquals(3, top.getBidCount());
+        assertEquals(List.of("carol", "bob", "alice"),
+                top.getBids().stream().map(BidLeaderboardService.TopBid::getNickname).toList());
+        assertEquals(List.of(1200, 1100, 1000),
+                top.getBids().stream().map(BidLeaderboardService.TopBid::getBidAmount).toList());
+        verify(bidRepository, times(1)).findPageByItemId(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void unknownItemsAreNotCachedAndRemovedItemsAreReloaded() {
+        BidRepository bidRepository = mock(BidRepository.class);
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findBidCountById("missing")).thenReturn(Optional.empty());
+        when(itemRepository.findBidCountById("item-1")).thenReturn(Optional.of(new Item()));
+        when(bidRepository.findPageByItemId(any(), any(), any(), anyInt())).thenReturn(List.of());
+        BidLeaderboardService service = new BidLeaderboardService(bidRepository, itemRepository, mock(NicknameCache.class), 3, 100, 60);
+
+        assertTrue(service.getTopBids("missing").isEmpty());
+        assertTrue(service.getTopBids("missing").isEmpty()); // 캐시에 남지 않아 다시 확인
+        service.onBidPlaced(new BidPlacedEvent(BidService.newBid("missing", "a", 1000, null), 1)); // 그 사이 삭제된 상품
+        verify(itemRepository, times(3)).findBidCountById("missing");
+        verify(bidRepository, never()).findPageByItemId(eq("missing"), any(), any(), anyInt()); // 입찰 기록은 읽지 않음
+
+        assertTrue(service.getTopBids("item-1").isPresent());
+        service.getTopBids("item-1");
+        service.onItemDeleted(new ItemDeletedEvent("item-1"));
+        service.getTopBids("item-1");
+        service.onAuctionClosed(new AuctionClosedEvent("item-1", null, 0, 0));
+        service.getTopBids("item-1");
+        verify(itemRepository, times(3)).findBidCountById("item-1"); // 제거될 때마다 다시 불러옴
+    }
+
+    private static Bid bid(String bidderId, int amount, long bidTime) {
+        Bid bid = BidService.newBid("item-1", bidderId, amount, null);
+        bid.setBidTime(new Date(bidTime));
+        return bid;
+    }
+}
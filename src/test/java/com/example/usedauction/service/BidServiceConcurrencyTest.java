@@ -0,0 +1,150 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.BidRepository;
+import com.example.usedauction.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataMongoTest
+@Import({BidService.class, BidSequencer.class, BatchingBidWriter.class, BidEventPublisher.class, NicknameCache.class,
+        ItemCache.class, SimpleMeterRegistry.class})
+class BidServiceConcurrencyTest {
+
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private static final int BID_UNIT = 10;
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Test
+    void concurrentBidsOnHotItemAreNeverLost() throws Exception {
+        String itemId = saveItem(LocalDateTime.now().plusHours(1)).getId();
+
+        int threads = 16;
+        int bidsPerThread = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Integer> accepted = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < bidsPerThread; i++) {
+                    // 스레드마다 서로 다른 금액으로 경쟁적으로 입찰
+                    int amount = (i * threads + thread + 1) * BID_UNIT;
+                    try {
+                        bidService.placeBid(itemId, "bidder-" + thread, amount);
+                        accepted.add(amount);
+                    } catch (BidRejectedException e) {
+                        assertEquals(BidRejectedException.Reason.BID_TOO_LOW, e.getReason());
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(threads * bidsPerThread, accepted.size() + rejected.get());
+
+        // 성공한 입찰은 모두 기록으로 남아 있어야 함
+        List<Integer> stored = bidRepository.findByItemId(itemId).stream()
+                .map(Bid::getBidAmount)
+                .sorted()
+                .collect(Collectors.toList());
+        List<Integer> expected = new ArrayList<>(accepted);
+        Collections.sort(expected);
+        assertEquals(expected, stored);
+
+        // 상품의 최고가는 성공한 입찰 중 가장 높은 금액이어야 함
+        assertEquals(expected.get(expected.size() - 1), itemRepository.findById(itemId).get().getLastPrice());
+
+        // 입찰 횟수는 성공한 입찰 수와 같아야 함
+        assertEquals(expected.size(), itemRepository.findById(itemId).get().getBidCount());
+
+        // 성공한 입찰은 항상 이전 최고가보다 입찰 단위 이상 높아야 함
+        for (int i = 1; i < expected.size(); i++) {
+            assertTrue(expected.get(i) - expected.get(i - 1) >= BID_UNIT);
+        }
+    }
+
+    @Test
+    void failedBidInsertLeavesPriceAndCountMatchingStoredBids() {
+        String itemId = saveItem(LocalDateTime.now().plusHours(1)).getId();
+        bidService.placeBid(itemId, "bidder", 100, "bidder:key-1");
+
+        // 같은 Idempotency-Key의 입찰은 최고가를 올린 뒤 기록 저장(유일 인덱스)에서 실패
+        assertThrows(DuplicateKeyException.class, () -> bidService.placeBid(itemId, "bidder", 200, "bidder:key-1"));
+
+        Item item = itemRepository.findById(itemId).get();
+        assertEquals(100, item.getLastPrice());
+        assertEquals(1, item.getBidCount());
+        assertEquals(1, bidRepository.countByItemId(itemId));
+        bidService.placeBid(itemId, "other", 110); // 저장되지 않은 200이 아니라 100을 기준으로 판단
+    }
+
+    @Test
+    void bidOnEndedAuctionIsRejected() {
+        String itemId = saveItem(LocalDateTime.now().minusMinutes(1)).getId();
+
+        BidRejectedException e = assertThrows(BidRejectedException.class,
+                () -> bidService.placeBid(itemId, "bidder", 1000));
+        assertEquals(BidRejectedException.Reason.AUCTION_ENDED, e.getReason());
+        assertTrue(bidRepository.findByItemId(itemId).isEmpty());
+    }
+
+    @Test
+    void bidOnMissingItemIsRejected() {
+        BidRejectedException e = assertThrows(BidRejectedException.class,
+                () -> bidService.placeBid("000000000000000000000000", "bidder", 1000));
+        assertEquals(BidRejectedException.Reason.ITEM_NOT_FOUND, e.getReason());
+    }
+
+    private Item saveItem(LocalDateTime endDateTime) {
+        Item item = new Item();
+        item.setTitle("hot item");
+        item.setPrice(BID_UNIT);
+        item.setBidUnit(BID_UNIT);
+        item.setLastPrice(0);
+        item.setEndDateTime(endDateTime);
+        return itemRepository.save(item);
+    }
+}
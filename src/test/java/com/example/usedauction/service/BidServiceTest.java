@@ -0,0 +1,87 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.BidRepository;
+import com.example.usedauction.repository.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BidServiceTest {
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final BatchingBidWriter bidWriter = mock(BatchingBidWriter.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ItemCache itemCache = mock(ItemCache.class);
+    private BidSequencer bidSequencer;
+
+    @AfterEach
+    void tearDown() {
+        if (bidSequencer != null) {
+            bidSequencer.shutdown();
+        }
+    }
+
+    @Test
+    void failedBidInsertRevertsTheRaisedPrice() {
+        BidService bidService = bidService(false);
+        when(itemRepository.raiseLastPrice(eq("item-1"), eq(1100), any())).thenReturn(Optional.of(previous(1000, 3)));
+        when(bidWriter.insert(any(Bid.class))).thenThrow(new DataAccessResourceFailureException("write failed"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> bidService.placeBid("item-1", "bidder-1", 1100));
+
+        verify(itemRepository).revertLastPrice("item-1", 1100, 4, 1000); // 올린 값(1100, 4)일 때만 이전 값으로
+        verify(itemCache, atLeast(2)).invalidate("item-1");
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void sequencedBidRevertsAndReloadsAfterAFailedInsert() {
+        BidService bidService = bidService(true);
+        Item item = previous(1000, 3);
+        item.setBidUnit(100);
+        item.setEndDateTime(LocalDateTime.now().plusHours(1));
+        when(itemRepository.findById("item-1")).thenReturn(Optional.of(item));
+        when(itemRepository.raiseLastPrice(eq("item-1"), eq(1100), any())).thenReturn(Optional.of(previous(1000, 3)));
+        when(bidWriter.insert(any(Bid.class)))
+                .thenThrow(new DataAccessResourceFailureException("write failed"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> bidService.placeBid("item-1", "bidder-1", 1100));
+        verify(itemRepository).revertLastPrice("item-1", 1100, 4, 1000);
+
+        // 워커의 메모리 최고가도 되돌려져 같은 금액의 입찰이 다시 받아들여짐
+        Bid saved = bidService.placeBid("item-1", "bidder-2", 1100);
+        assertEquals(1100, saved.getBidAmount());
+        verify(eventPublisher).publishEvent(any(BidPlacedEvent.class));
+    }
+
+    private BidService bidService(boolean sequenced) {
+        bidSequencer = new BidSequencer(bidWriter, itemRepository, eventPublisher, itemCache, sequenced, 30_000);
+        return new BidService(mock(BidRepository.class), mock(NicknameCache.class), itemRepository, bidSequencer,
+                bidWriter, eventPublisher, itemCache);
+    }
+
+    private static Item previous(int lastPrice, int bidCount) {
+        Item item = new Item();
+        item.setId("item-1");
+        item.setLastPrice(lastPrice);
+        item.setBidCount(bidCount);
+        return item;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.repository.BidRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 입찰마다 save 하는 방식과 group commit 방식의 처리량/지연 시간 비교
+// 실행: RUN_BENCHMARKS=true ./gradlew test --tests '*BidWriteBenchmarkTest'
+@DataMongoTest
+@Import({BatchingBidWriter.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "auction.bid.group-commit.enabled=true")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class BidWriteBenchmarkTest {
+
+    private static final int THREADS = 64;
+    private static final int BIDS_PER_THREAD = 200;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private BatchingBidWriter bidWriter;
+
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
+    @Test
+    void compareSaveAndGroupCommit() throws Exception {
+        run("warm-up", bidRepository::save);
+        bidRepository.deleteAll();
+
+        run("per-bid save", bidRepository::save);
+        run("group commit", bidWriter::insert);
+
+        assertEquals(2L * THREADS * BIDS_PER_THREAD, bidRepository.count());
+        System.out.printf("batch size mean=%.1f, flush latency mean=%.2fms%n",
+                meterRegistry.get("auction.bid.writer.batch.size").summary().mean(),
+                meterRegistry.get("auction.bid.writer.flush.latency").timer().mean(TimeUnit.MILLISECONDS));
+    }
+
+    private void run(String name, UnaryOperator<Bid> writer) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                long[] latencies = new long[BIDS_PER_THREAD];
+                for (int i = 0; i < BIDS_PER_THREAD; i++) {
+                    long begin = System.nanoTime();
+                    writer.apply(BidService.newBid("bench-item", "bidder-" + thread, i, null));
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        long[] all = new long[THREADS * BIDS_PER_THREAD];
+        int index = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            System.arraycopy(latencies, 0, all, index, latencies.length);
+            index += latencies.length;
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+
+        Arrays.sort(all);
+        System.out.printf("%s: %.0f bids/s, p50=%.2fms, p99=%.2fms%n", name,
+                all.length / (elapsed / 1e9),
+                all[all.length / 2] / 1e6,
+                all[(int) (all.length * 0.99)] / 1e6);
+    }
+}
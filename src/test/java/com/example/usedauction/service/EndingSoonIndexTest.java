@@ -0,0 +1,78 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.service.ItemService.ItemCard;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EndingSoonIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 7, 1, 12, 0);
+
+    @Test
+    void pagesInEndTimeOrderAndSkipsEndedAuctions() {
+        EndingSoonIndex index = new EndingSoonIndex();
+        index.put(card("c", 30, "서울"));
+        index.put(card("a", 10, "부산"));
+        index.put(card("b", 20, "서울"));
+        index.put(card("d", 20, "서울")); // 같은 종료 시간은 ID 순
+        index.put(card("ended", -5, "서울"));
+
+        EndingSoonIndex.Page first = index.page(null, null, NOW, 2);
+        assertEquals(List.of("a", "b"), ids(first));
+
+        EndingSoonIndex.Page second = index.page(null, first.nextCursor(), NOW, 2);
+        assertEquals(List.of("d", "c"), ids(second));
+        assertNull(second.nextCursor());
+
+        assertEquals(List.of("b", "d", "c"), ids(index.page("서울", null, NOW, 10)));
+        assertEquals(List.of(), ids(index.page("대구", null, NOW, 10)));
+    }
+
+    @Test
+    void updatesMoveCardsBetweenRegionsAndKeepTheHighestPrice() {
+        EndingSoonIndex index = new EndingSoonIndex();
+        index.put(card("a", 10, "서울"));
+
+        index.updateLastPrice("a", 5000);
+        index.updateLastPrice("a", 3000); // 늦게 도착한 낮은 입찰
+        index.put(new ItemCard("a", "새 제목", null, 1000, NOW.plusMinutes(10), "부산")); // 입찰 전에 읽은 상품으로 수정
+
+        assertEquals(List.of(), ids(index.page("서울", null, NOW, 10)));
+        ItemCard card = index.page("부산", null, NOW, 10).items().get(0);
+        assertEquals("새 제목", card.getTitle());
+        assertEquals(5000, card.getLastPrice());
+
+        index.remove("a");
+        assertEquals(0, index.size());
+        assertEquals(List.of(), ids(index.page(null, null, NOW, 10)));
+    }
+
+    @Test
+    void putIfAbsentDoesNotOverwriteNewerCards() {
+        EndingSoonIndex index = new EndingSoonIndex();
+        index.put(card("a", 10, "서울"));
+
+        assertEquals(false, index.putIfAbsent(card("a", 99, "부산")));
+        assertEquals(List.of("a"), ids(index.page("서울", null, NOW, 10)));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        EndingSoonIndex index = new EndingSoonIndex();
+        assertThrows(IllegalArgumentException.class, () -> index.page(null, "abc", NOW, 10));
+    }
+
+    private static ItemCard card(String id, int minutesLeft, String region) {
+        return new ItemCard(id, "title-" + id, null, 1000, NOW.plusMinutes(minutesLeft), region);
+    }
+
+    private static List<String> ids(EndingSoonIndex.Page page) {
+        return page.items().stream().map(ItemCard::getId).toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.ItemRepository;
+import com.example.usedauction.service.ItemService.ItemCard;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+// 상품 수정 결과(ItemService.updateItem이 받은 문서)로 카드 전체를 바꾸는 경우
+class EndingSoonServiceTest {
+
+    private final EndingSoonService service = new EndingSoonService(mock(ItemRepository.class));
+
+    @Test
+    void updatedItemReplacesTheWholeCardButKeepsAHigherBid() {
+        service.add(item("old title", "서울", 1000, false));
+        service.onBidPlaced(new BidPlacedEvent(BidService.newBid("item-1", "bidder-1", 3000, null), 1)); // 수정 결과를 읽은 뒤 반영된 입찰
+
+        service.add(item("new title", "부산", 2000, false));
+
+        assertEquals(List.of(), service.getEndingSoon("서울", null, 10).items());
+        List<ItemCard> cards = service.getEndingSoon("부산", null, 10).items();
+        assertEquals(1, cards.size());
+        assertEquals("new title", cards.get(0).getTitle());
+        assertEquals("image-0", cards.get(0).getImage());
+        assertEquals(3000, cards.get(0).getLastPrice());
+    }
+
+    @Test
+    void itemClosedBeforeTheUpdateIsRemoved() {
+        service.add(item("title", "서울", 1000, false));
+
+        service.add(item("new title", "서울", 1000, true));
+
+        assertEquals(0, service.getIndexedCount());
+    }
+
+    private static Item item(String title, String region, int lastPrice, boolean closed) {
+        Item item = new Item();
+        item.setId("item-1");
+        item.setTitle(title);
+        item.setRegion(region);
+        item.setLastPrice(lastPrice);
+        item.setItemImages(List.of("image-0"));
+        item.setEndDateTime(LocalDateTime.now().plusMinutes(30));
+        item.setClosed(closed);
+        return item;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.usedauction.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+// 입찰 기록을 group commit으로 저장할 때도 같은 동시성 조건을 만족하는지 확인
+@TestPropertySource(properties = "auction.bid.group-commit.enabled=true")
+class GroupCommitBidServiceConcurrencyTest extends BidServiceConcurrencyTest {
+}
@@ -0,0 +1,77 @@
+package com.example.usedauction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyStoreTest {
+
+    @Test
+    void replayReturnsTheFirstResultWithoutRunningAgain() {
+        IdempotencyStore store = new IdempotencyStore(100, 60);
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = store.execute("bidder:key-1", () -> "bid-" + calls.incrementAndGet(), result -> true);
+        String replay = store.execute("bidder:key-1", () -> "bid-" + calls.incrementAndGet(), result -> true);
+
+        assertEquals("bid-1", first);
+        assertEquals("bid-1", replay);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(100, 60);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.execute("bidder:key-1", () -> {
+                        sleep(50); // 처리 중에 같은 키의 요청이 들어오도록 함
+                        return calls.incrementAndGet();
+                    }, result -> true);
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get());
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failuresAndUncacheableResultsCanBeRetried() {
+        IdempotencyStore store = new IdempotencyStore(100, 60);
+
+        assertThrows(IllegalStateException.class, () -> store.execute("bidder:key-1", () -> {
+            throw new IllegalStateException("database down");
+        }, result -> true));
+        assertEquals(500, store.execute("bidder:key-1", () -> 500, status -> status < 500));
+        assertEquals(201, store.execute("bidder:key-1", () -> 201, status -> status < 500));
+        assertEquals(201, store.execute("bidder:key-1", () -> 409, status -> status < 500));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
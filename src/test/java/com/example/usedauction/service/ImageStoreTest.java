@@ -0,0 +1,58 @@
+package com.example.usedauction.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void storesContentUnderItsHashOnce() throws Exception {
+        ImageStore store = new ImageStore(dir.toString());
+        byte[] image = new byte[300_000];
+        new Random(1).nextBytes(image);
+
+        String first = store.store(new ByteArrayInputStream(image));
+        String second = store.store(new ByteArrayInputStream(image));
+        String other = store.store(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals(64, first.length());
+        assertArrayEquals(image, Files.readAllBytes(store.find(first).orElseThrow()));
+        try (var temp = Files.list(dir.resolve("tmp"))) {
+            assertEquals(0, temp.count()); // 임시 파일이 남지 않음
+        }
+    }
+
+    @Test
+    void findRejectsMalformedAndUnknownIds() throws Exception {
+        ImageStore store = new ImageStore(dir.toString());
+
+        assertTrue(store.find("../../etc/passwd").isEmpty());
+        assertTrue(store.find("a".repeat(64)).isEmpty());
+        assertTrue(store.find(null).isEmpty());
+    }
+
+    @Test
+    void detectsImageTypeFromContent() throws Exception {
+        ImageStore store = new ImageStore(dir.toString());
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0};
+
+        String id = store.store(new ByteArrayInputStream(png));
+
+        assertEquals("image/png", store.contentType(store.find(id).orElseThrow()));
+    }
+}
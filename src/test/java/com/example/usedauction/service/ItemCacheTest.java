@@ -0,0 +1,156 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemCacheTest {
+
+    private static final int READERS = 8;
+
+    @Test
+    void concurrentMissesShareOneDatabaseRead() throws Exception {
+        ItemRepository repository = mock(ItemRepository.class);
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById("item-1")).thenAnswer(invocation -> {
+            reads.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS); // 다른 요청이 모두 기다리기 시작할 때까지 조회를 끝내지 않음
+            return Optional.of(item("item-1", 1000));
+        });
+        ItemCache cache = new ItemCache(repository, new SimpleMeterRegistry(), 1 << 20, 60, 5000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        try {
+            List<Future<Optional<Item>>> results = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                results.add(executor.submit(() -> cache.get("item-1")));
+            }
+            while (cache.getCoalescedLoads() < READERS - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Optional<Item>> result : results) {
+                assertEquals(1000, result.get().orElseThrow().getLastPrice());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, reads.get());
+        assertEquals(READERS - 1, cache.getCoalescedLoads());
+
+        cache.get("item-1");
+        assertEquals(1, reads.get()); // 조회가 끝난 뒤에는 캐시에서 반환
+    }
+
+    @Test
+    void loadFailureReachesEveryWaiterAndIsNotCached() throws Exception {
+        ItemRepository repository = mock(ItemRepository.class);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+        when(repository.findById("item-1"))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    throw failure;
+                })
+                .thenReturn(Optional.of(item("item-1", 2000)));
+        ItemCache cache = new ItemCache(repository, new SimpleMeterRegistry(), 1 << 20, 60, 5000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<Item>> leader = executor.submit(() -> cache.get("item-1"));
+            Future<Optional<Item>> waiter = executor.submit(() -> cache.get("item-1"));
+            while (cache.getCoalescedLoads() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Optional<Item>> result : List.of(leader, waiter)) {
+                Exception e = assertThrows(Exception.class, result::get);
+                assertSame(failure, e.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2000, cache.get("item-1").orElseThrow().getLastPrice()); // 실패는 캐시되지 않으므로 다시 조회
+    }
+
+    @Test
+    void waiterTimesOutWhileTheFirstReadIsStillRunning() throws Exception {
+        ItemRepository repository = mock(ItemRepository.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById("item-1")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(item("item-1", 1000));
+        });
+        ItemCache cache = new ItemCache(repository, new SimpleMeterRegistry(), 1 << 20, 60, 50);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<Item>> leader = executor.submit(() -> cache.get("item-1"));
+            while (cache.size() == 0) {
+                Thread.sleep(5);
+            }
+            assertThrows(ItemLoadTimeoutException.class, () -> cache.get("item-1"));
+
+            release.countDown();
+            assertTrue(leader.get().isPresent());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidateDuringReadDoesNotCacheTheOldValue() throws Exception {
+        ItemRepository repository = mock(ItemRepository.class);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById("item-1"))
+                .thenAnswer(invocation -> {
+                    reading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return Optional.of(item("item-1", 1000)); // 입찰 전에 읽은 값
+                })
+                .thenReturn(Optional.of(item("item-1", 1100)));
+        ItemCache cache = new ItemCache(repository, new SimpleMeterRegistry(), 1 << 20, 60, 5000);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<Item>> stale = executor.submit(() -> cache.get("item-1"));
+            reading.await(5, TimeUnit.SECONDS);
+            cache.invalidate("item-1"); // 조회 중에 입찰로 최고가가 바뀜
+            release.countDown();
+            assertEquals(1000, stale.get().orElseThrow().getLastPrice());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1100, cache.get("item-1").orElseThrow().getLastPrice());
+    }
+
+    private static Item item(String id, int lastPrice) {
+        Item item = new Item();
+        item.setId(id);
+        item.setTitle("아이폰 15");
+        item.setLastPrice(lastPrice);
+        return item;
+    }
+}
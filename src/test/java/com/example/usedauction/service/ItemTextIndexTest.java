@@ -0,0 +1,86 @@
+package com.example.usedauction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemTextIndexTest {
+
+    @Test
+    void findsKoreanWordsInsideLongerWordsAndWithParticles() {
+        ItemTextIndex index = new ItemTextIndex();
+        index.put("1", "아이폰15 프로 팝니다", "상태 좋은 아이폰을 판매합니다");
+        index.put("2", "갤럭시 S24", "아이폰 케이스 같이 드려요");
+        index.put("3", "맥북 에어", "거의 새것");
+
+        assertEquals(List.of("1", "2"), ids(index.search("아이폰", 10))); // 제목에 있는 상품이 먼저
+        assertEquals(List.of("1"), ids(index.search("폰15", 10)));
+        assertEquals(List.of("3"), ids(index.search("맥북 새것", 10)));
+        assertTrue(index.search("아이패드", 10).isEmpty());
+    }
+
+    @Test
+    void singleCharacterQueryMatchesWordPrefixes() {
+        ItemTextIndex index = new ItemTextIndex();
+        index.put("1", "맥북 에어", null);
+        index.put("2", "에어팟 프로", null);
+        index.put("3", "아이폰 케이스", null);
+
+        assertEquals(Set.of("1", "2"), Set.copyOf(ids(index.search("에", 10))));
+        assertEquals(List.of("2"), ids(index.search("에어팟", 10)));
+        assertEquals(List.of("2", "1"), ids(index.search("에어", 10))); // 점수가 같으면 최근에 등록한 상품이 먼저
+    }
+
+    @Test
+    void updatesAndDeletesAreVisibleImmediately() {
+        ItemTextIndex index = new ItemTextIndex();
+        index.put("1", "자전거 팝니다", null);
+        index.put("1", "킥보드 팝니다", null);
+        index.put("2", "자전거 헬멧", null);
+        index.remove("2");
+
+        assertTrue(index.search("자전거", 10).isEmpty());
+        assertEquals(List.of("1"), ids(index.search("킥보드", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void matchesBruteForceAfterManyUpdatesAndCompactions() {
+        String[] words = {"아이폰", "갤럭시", "맥북", "자전거", "캠핑", "의자", "책상", "모니터", "키보드", "마우스"};
+        Random random = new Random(3);
+        ItemTextIndex index = new ItemTextIndex();
+        Map<String, String> texts = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            String id = "item-" + random.nextInt(3_000);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                texts.remove(id);
+            } else {
+                String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                index.put(id, title, null);
+                texts.put(id, title);
+            }
+        }
+
+        for (String word : words) {
+            Set<String> expected = texts.entrySet().stream()
+                    .filter(entry -> entry.getValue().contains(word))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            assertEquals(expected, Set.copyOf(ids(index.search(word, 10_000))), word);
+        }
+    }
+
+    private static List<String> ids(List<ItemTextIndex.Hit> hits) {
+        return hits.stream().map(ItemTextIndex.Hit::itemId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.User;
+import com.example.usedauction.repository.UserNickname;
+import com.example.usedauction.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NicknameCacheTest {
+
+    private final Map<String, String> stored = new ConcurrentHashMap<>(); // 데이터베이스의 사용자 닉네임
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private NicknameCache cache;
+
+    @BeforeEach
+    void setUp() {
+        stored.put("user-1", "alice");
+        stored.put("user-2", "bob");
+        stored.put("user-3", "carol");
+        when(userRepository.findByIdIn(any())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream().filter(stored::containsKey).map(id -> nickname(id, stored.get(id))).toList();
+        });
+        cache = new NicknameCache(userRepository, 100);
+    }
+
+    @Test
+    void batchOfMissesIsLoadedWithOneQuery() {
+        Map<String, String> nicknames = cache.getNicknames(List.of("user-1", "user-2", "user-3"));
+
+        assertEquals(Map.of("user-1", "alice", "user-2", "bob", "user-3", "carol"), nicknames);
+        verify(userRepository, times(1)).findByIdIn(any());
+
+        cache.getNicknames(List.of("user-1", "user-2")); // 모두 캐시에 있음
+        assertEquals("carol", cache.getNickname("user-3"));
+        verify(userRepository, times(1)).findByIdIn(any());
+    }
+
+    @Test
+    void unknownUsersFallBackToUnknownNickname() {
+        Map<String, String> nicknames = cache.getNicknames(List.of("user-1", "deleted"));
+
+        assertFalse(nicknames.containsKey("deleted"));
+        assertEquals(NicknameCache.UNKNOWN_NICKNAME, cache.getNickname("deleted"));
+        assertEquals(NicknameCache.UNKNOWN_NICKNAME, cache.getNickname(null));
+    }
+
+    @Test
+    void updatingOrDeletingAUserInvalidatesTheNickname() {
+        UserService userService = new UserService(userRepository, mock(PasswordEncoder.class), cache,
+                mock(ImageStore.class), mock(ThumbnailService.class), mock(ApplicationEventPublisher.class));
+        assertEquals("alice", cache.getNickname("user-1"));
+        assertEquals("bob", cache.getNickname("user-2"));
+
+        stored.put("user-1", "alice2");
+        when(userRepository.updateFields(eq("user-1"), anyMap())).thenReturn(Optional.of(new User()));
+        userService.updateUser("user-1", Map.of("nickname", "alice2"));
+        assertEquals("alice2", cache.getNickname("user-1"));
+
+        stored.remove("user-2");
+        when(userRepository.findById("user-2")).thenReturn(Optional.empty());
+        userService.deleteUser("user-2");
+        assertEquals(NicknameCache.UNKNOWN_NICKNAME, cache.getNickname("user-2"));
+        verify(userRepository, times(2)).findByIdIn(Set.of("user-2")); // 캐시에서 제거되어 다시 조회
+    }
+
+    private static UserNickname nickname(String id, String nickname) {
+        return new UserNickname() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getNickname() {
+                return nickname;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.usedauction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProxyBidBookTest {
+
+    @Test
+    void higherMaximumWinsOneUnitAboveTheRunnerUp() {
+        ProxyBidBook book = new ProxyBidBook();
+        book.reset(10_000, null, 1_000);
+        book.putProxy("a", 50_000, 1);
+        book.putProxy("b", 30_000, 2);
+
+        List<ProxyBidBook.Step> steps = book.resolve();
+
+        // 단계별 입찰 없이 진 쪽의 최대 금액과 이긴 쪽의 최종 금액만 저장
+        assertEquals(List.of(new ProxyBidBook.Step("b", 30_000), new ProxyBidBook.Step("a", 31_000)), steps);
+        assertEquals("a", book.getLeaderId());
+        assertEquals(31_000, book.getPrice());
+    }
+
+    @Test
+    void manualBidIsAnsweredOnlyWhileUnderTheMaximum() {
+        ProxyBidBook book = new ProxyBidBook();
+        book.reset(10_000, null, 1_000);
+        book.putProxy("a", 20_000, 1);
+        assertEquals(List.of(new ProxyBidBook.Step("a", 11_000)), book.resolve());
+
+        book.observeBid("manual", 15_000);
+        assertEquals(List.of(new ProxyBidBook.Step("a", 16_000)), book.resolve());
+
+        book.observeBid("manual", 19_500);
+        assertTrue(book.resolve().isEmpty()); // 20,500원 이상이어야 하므로 더 올릴 수 없음
+        assertEquals("manual", book.getLeaderId());
+    }
+
+    @Test
+    void equalMaximumsKeepTheEarlierBidderInFront() {
+        ProxyBidBook book = new ProxyBidBook();
+        book.reset(0, null, 100);
+        book.putProxy("late", 5_000, 2);
+        book.putProxy("early", 5_000, 1);
+
+        List<ProxyBidBook.Step> steps = book.resolve();
+
+        assertEquals("early", book.getLeaderId());
+        assertEquals(5_000, book.getPrice());
+        assertEquals(List.of(new ProxyBidBook.Step("late", 4_900), new ProxyBidBook.Step("early", 5_000)), steps);
+    }
+
+    @Test
+    void resolvedStepsFormAValidBidHistory() {
+        Random random = new Random(7);
+        for (int round = 0; round < 2_000; round++) {
+            int unit = 1 + random.nextInt(1_000);
+            int start = random.nextInt(100_000);
+            ProxyBidBook book = new ProxyBidBook();
+            book.reset(start, random.nextBoolean() ? "manual" : null, unit);
+            int bidders = 1 + random.nextInt(6);
+            int highest = Integer.MIN_VALUE;
+            for (int i = 0; i < bidders; i++) {
+                int max = start + random.nextInt(200_000);
+                book.putProxy("p" + i, max, i);
+                highest = Math.max(highest, max);
+            }
+
+            int price = start;
+            List<ProxyBidBook.Step> steps = book.resolve();
+            for (ProxyBidBook.Step step : steps) {
+                // 저장되는 모든 입찰은 직전 최고가 + 입찰 단위 이상이고 입찰자의 최대 금액을 넘지 않음
+                assertTrue(step.amount() >= price + unit, "round " + round);
+                price = step.amount();
+            }
+            assertEquals(price, book.getPrice());
+            assertTrue(book.getPrice() <= Math.max(highest, start));
+            assertTrue(book.resolve().isEmpty()); // 한 번에 끝까지 계산됨
+        }
+    }
+}
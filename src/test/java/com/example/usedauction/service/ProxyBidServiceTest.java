@@ -0,0 +1,151 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.Bid;
+import com.example.usedauction.model.Item;
+import com.example.usedauction.repository.BidRepository;
+import com.example.usedauction.repository.ItemRepository;
+import com.example.usedauction.repository.ProxyBidRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 순차 처리 모드(BidSequencer)에서 자동 입찰: 입찰 이벤트가 상품 워커 스레드에서 발행되는 경우
+class ProxyBidServiceTest {
+
+    private static final String ITEM_ID = "item-1";
+    private static final int BID_UNIT = 100;
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final BidRepository bidRepository = mock(BidRepository.class);
+    private final BatchingBidWriter bidWriter = mock(BatchingBidWriter.class);
+    private final ProxyBidRepository proxyBidRepository = mock(ProxyBidRepository.class);
+
+    private final List<Bid> stored = new CopyOnWriteArrayList<>(); // 저장된 입찰 기록
+    private final List<BidPlacedEvent> events = new CopyOnWriteArrayList<>();
+    private final List<Thread> eventThreads = new CopyOnWriteArrayList<>();
+    private int lastPrice = 1000; // 상품의 현재 최고가 (raiseLastPrice가 갱신)
+    private int bidCount;
+
+    private BidSequencer bidSequencer;
+    private BidService bidService;
+    private ProxyBidService proxyBidService;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findById(ITEM_ID)).thenAnswer(invocation -> Optional.of(item()));
+        when(itemRepository.raiseLastPrice(anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            synchronized (this) {
+                int amount = invocation.getArgument(1);
+                if (amount < lastPrice + BID_UNIT) {
+                    return Optional.empty();
+                }
+                Item previous = item();
+                lastPrice = amount;
+                bidCount++;
+                return Optional.of(previous);
+            }
+        });
+        when(bidWriter.insert(any(Bid.class))).thenAnswer(invocation -> {
+            Bid bid = invocation.getArgument(0);
+            stored.add(bid);
+            return bid;
+        });
+        when(bidRepository.findFirstByItemIdOrderByBidAmountDescBidTimeAsc(ITEM_ID)).thenAnswer(invocation ->
+                stored.stream().max(Comparator.comparingInt(Bid::getBidAmount)));
+        when(proxyBidRepository.findByItemIdAndBidderId(anyString(), anyString())).thenReturn(Optional.empty());
+        when(proxyBidRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ApplicationEventPublisher eventPublisher = event -> {
+            if (event instanceof BidPlacedEvent placed) {
+                events.add(placed);
+                eventThreads.add(Thread.currentThread());
+                proxyBidService.onBidPlaced(placed);
+            }
+        };
+        bidSequencer = new BidSequencer(bidWriter, itemRepository, eventPublisher, mock(ItemCache.class), true, 30_000);
+        bidService = new BidService(bidRepository, mock(NicknameCache.class), itemRepository, bidSequencer, bidWriter,
+                eventPublisher, mock(ItemCache.class));
+        proxyBidService = new ProxyBidService(proxyBidRepository, itemRepository, bidRepository, bidService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        proxyBidService.shutdown();
+        bidSequencer.shutdown();
+    }
+
+    @Test
+    void proxyBidsPlacedOnTheSequencerThreadAreNotAnsweredAgain() throws Exception {
+        proxyBidService.register(ITEM_ID, "a", 2000);
+        proxyBidService.register(ITEM_ID, "b", 1500);
+        settle();
+
+        // b는 최대 금액까지, a는 그보다 한 단위 높게 한 번씩만 입찰
+        assertEquals(List.of(1100, 1500, 1600), amounts());
+        assertTrue(events.stream().allMatch(BidPlacedEvent::isProxy));
+        assertTrue(eventThreads.stream().allMatch(thread -> thread != Thread.currentThread())); // 워커 스레드에서 발행
+
+        // 워커 스레드에서 늦게 도착한 자동 입찰 이벤트는 순위 계산에 다시 반영하지 않음
+        Bid late = BidService.newBid(ITEM_ID, "b", 1900, null, true);
+        Thread worker = new Thread(() -> proxyBidService.onBidPlaced(new BidPlacedEvent(late, 99)));
+        worker.start();
+        worker.join();
+        settle();
+        assertEquals(List.of(1100, 1500, 1600), amounts());
+    }
+
+    @Test
+    void manualBidUnderTheSequencerIsAnsweredOnce() throws Exception {
+        proxyBidService.register(ITEM_ID, "a", 2000);
+        settle();
+
+        Bid manual = bidService.placeBid(ITEM_ID, "c", 1700);
+        settle();
+
+        assertEquals(List.of(1100, 1700, 1800), amounts());
+        assertEquals(false, manual.isProxy());
+        Bid answer = stored.get(stored.size() - 1);
+        assertEquals("a", answer.getBidderId());
+        assertTrue(answer.isProxy());
+        assertNotEquals(Thread.currentThread(), eventThreads.get(eventThreads.size() - 1));
+    }
+
+    private Item item() {
+        Item item = new Item();
+        item.setId(ITEM_ID);
+        item.setLastPrice(lastPrice);
+        item.setBidCount(bidCount);
+        item.setBidUnit(BID_UNIT);
+        item.setEndDateTime(LocalDateTime.now().plusHours(1));
+        return item;
+    }
+
+    private List<Integer> amounts() {
+        return stored.stream().map(Bid::getBidAmount).toList();
+    }
+
+    // 자동 입찰의 응수(가상 스레드)가 끝날 때까지 입찰 기록 수가 더 이상 바뀌지 않는지 확인
+    private void settle() throws InterruptedException {
+        int last;
+        do {
+            last = stored.size();
+            Thread.sleep(200);
+        } while (stored.size() != last);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.usedauction.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+// 상품별 순차 처리 모드에서도 같은 동시성 조건을 만족하는지 확인
+@TestPropertySource(properties = "auction.bid.sequencer.enabled=true")
+class SequencedBidServiceConcurrencyTest extends BidServiceConcurrencyTest {
+}
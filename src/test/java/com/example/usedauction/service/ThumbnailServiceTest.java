@@ -0,0 +1,153 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.model.ImageUrls;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private ThumbnailService thumbnailService;
+
+    @AfterEach
+    void tearDown() {
+        if (thumbnailService != null) {
+            thumbnailService.shutdown();
+        }
+    }
+
+    @Test
+    void rendersEverySizeOncePerImage() throws Exception {
+        ImageStore imageStore = new ImageStore(dir.toString());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        thumbnailService = new ThumbnailService(imageStore, registry, 1, 4);
+        String imageId = imageStore.store(new ByteArrayInputStream(png(1200, 600)));
+
+        thumbnailService.submit(imageId);
+        thumbnailService.submit(imageId); // 생성 중이거나 이미 만든 이미지는 다시 만들지 않음
+        awaitThumbnails(imageStore, imageId);
+        while (registry.get("auction.thumbnail.duration").timer().count() == 0) {
+            Thread.sleep(10); // 파일 저장 직후 처리 시간 기록
+        }
+        thumbnailService.submit(imageId);
+
+        BufferedImage large = ImageIO.read(imageStore.findThumbnail(imageId, ImageUrls.LARGE).orElseThrow().toFile());
+        BufferedImage small = ImageIO.read(imageStore.findThumbnail(imageId, ImageUrls.SMALL).orElseThrow().toFile());
+        assertEquals(480, large.getWidth());
+        assertEquals(240, large.getHeight());
+        assertEquals(160, small.getWidth());
+        assertEquals(80, small.getHeight());
+        assertEquals(1, registry.get("auction.thumbnail.duration").timer().count());
+    }
+
+    @Test
+    void countsUnreadableImagesAsFailures() throws Exception {
+        ImageStore imageStore = new ImageStore(dir.toString());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        thumbnailService = new ThumbnailService(imageStore, registry, 1, 4);
+        String imageId = imageStore.store(new ByteArrayInputStream("not an image".getBytes()));
+
+        thumbnailService.submit(imageId);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (registry.get("auction.thumbnail.failed").counter().count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, registry.get("auction.thumbnail.failed").counter().count());
+        assertTrue(imageStore.findThumbnail(imageId, ImageUrls.SMALL).isEmpty());
+    }
+
+    @Test
+    void saturatedPoolDropsRequestsInsteadOfRenderingOnTheCaller() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> renderThreads = new CopyOnWriteArrayList<>();
+        ImageStore imageStore = new ImageStore(dir.toString()) {
+            @Override
+            public void storeThumbnail(String imageId, int size, ContentWriter writer) throws IOException {
+                renderThreads.add(Thread.currentThread());
+                started.countDown();
+                try {
+                    release.await(); // 작업 스레드가 첫 번째 이미지에 묶여 있음
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.storeThumbnail(imageId, size, writer);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        thumbnailService = new ThumbnailService(imageStore, registry, 1, 1);
+        String busy = imageStore.store(new ByteArrayInputStream(png(100, 100)));
+        String queued = imageStore.store(new ByteArrayInputStream(png(200, 100)));
+        String dropped = imageStore.store(new ByteArrayInputStream(png(300, 100)));
+
+        thumbnailService.submit(busy);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        thumbnailService.submit(queued); // 대기열의 유일한 자리
+        thumbnailService.submit(dropped); // 대기열이 가득 참
+
+        assertEquals(1, registry.get("auction.thumbnail.rejected").counter().count());
+        assertFalse(renderThreads.contains(Thread.currentThread())); // 요청한 스레드에서 만들지 않음
+
+        release.countDown();
+        awaitThumbnails(imageStore, queued);
+        assertTrue(imageStore.findThumbnail(dropped, ImageUrls.SMALL).isEmpty());
+
+        thumbnailService.submit(dropped); // 버린 이미지는 다시 요청할 수 있음
+        awaitThumbnails(imageStore, dropped);
+        assertFalse(renderThreads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    void onlyStoredImagesHaveThumbnailUrls() {
+        String imageId = "ab".repeat(32);
+
+        assertEquals("/api/images/" + imageId + "/thumbnails/160",
+                ImageUrls.thumbnailOf("https://auction.example.com/api/images/" + imageId, ImageUrls.SMALL));
+        assertNull(ImageUrls.thumbnailOf("https://cdn.example.com/photo.jpg", ImageUrls.SMALL));
+    }
+
+    private static void awaitThumbnails(ImageStore imageStore, String imageId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (imageStore.findThumbnail(imageId, ImageUrls.SMALL).isPresent()
+                    && imageStore.findThumbnail(imageId, ImageUrls.LARGE).isPresent()) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Thumbnails were not generated");
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.usedauction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void everyEntryExpiresExactlyAtItsDeadline() {
+        long start = 1_000_003L; // 슬롯 경계에 맞지 않는 시작 tick
+        TimingWheel wheel = new TimingWheel(start);
+        Random random = new Random(42);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            // 짧은 경매부터 여러 레벨에 걸친 긴 경매까지 섞어서 등록
+            long delay = switch (i % 4) {
+                case 0 -> random.nextInt(64);
+                case 1 -> random.nextInt(4096);
+                case 2 -> random.nextInt(262_144);
+                default -> random.nextInt(1_000_000);
+            };
+            deadlines.put("item-" + i, start + delay);
+            wheel.schedule("item-" + i, start + delay);
+        }
+        assertEquals(50_000, wheel.size());
+
+        for (long tick = start; tick <= start + 1_000_000; tick++) {
+            for (String key : wheel.advanceTo(tick)) {
+                assertEquals(deadlines.remove(key), tick, key);
+            }
+        }
+        assertTrue(deadlines.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rescheduleAndCancelReplacePreviousDeadline() {
+        TimingWheel wheel = new TimingWheel(0);
+        wheel.schedule("a", 100);
+        wheel.schedule("b", 100);
+        wheel.schedule("a", 5_000); // 종료 시간 변경
+        assertTrue(wheel.cancel("b"));
+
+        assertTrue(wheel.advanceTo(4_999).isEmpty());
+        assertEquals(List.of("a"), wheel.advanceTo(5_000));
+    }
+
+    @Test
+    void pastDeadlineExpiresOnNextTick() {
+        TimingWheel wheel = new TimingWheel(500);
+        wheel.advanceTo(600);
+        wheel.schedule("late", 10); // 서버 재시작 중에 이미 지난 경매
+
+        assertEquals(List.of("late"), wheel.advanceTo(601));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.usedauction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTableTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstThenRefillsAtTheConfiguredRate() {
+        TokenBucketTable table = new TokenBucketTable(5, 10, 4);
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, table.tryAcquire("bidder", now)); // burst만큼은 바로 허용
+        }
+        long wait = table.tryAcquire("bidder", now);
+        assertEquals(SECOND / 5, wait); // 토큰 하나가 생기는 0.2초 뒤에 다시 시도 가능
+
+        assertEquals(0, table.tryAcquire("bidder", now + wait));
+        assertTrue(table.tryAcquire("bidder", now + wait) > 0);
+        assertEquals(0, table.tryAcquire("other", now)); // 다른 키에는 영향 없음
+    }
+
+    @Test
+    void refundGivesTheTokenBack() {
+        TokenBucketTable table = new TokenBucketTable(1, 1, 4);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, table.tryAcquire("bidder", now));
+        assertTrue(table.tryAcquire("bidder", now) > 0);
+        table.refund("bidder");
+        assertEquals(0, table.tryAcquire("bidder", now));
+    }
+
+    @Test
+    void sweepRemovesOnlyIdleKeys() {
+        TokenBucketTable table = new TokenBucketTable(1, 1, 4);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 100; i++) {
+            table.tryAcquire("idle-" + i, now);
+        }
+        table.tryAcquire("active", now + 60 * SECOND);
+
+        assertEquals(100, table.sweep(now + 62 * SECOND, 60 * SECOND));
+        assertEquals(1, table.size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.usedauction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrendingSketchTest {
+
+    @Test
+    void estimateIsNeverBelowTheTrueCount() {
+        TrendingSketch sketch = new TrendingSketch(4, 4, 1024, 100);
+        for (int i = 0; i < 5000; i++) {
+            sketch.add("item-" + (i % 500), 1);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(sketch.estimate("item-" + i) >= 10);
+        }
+    }
+
+    @Test
+    void topReturnsTheHeaviestKeysFirst() {
+        TrendingSketch sketch = new TrendingSketch(4, 4, 4096, 100);
+        for (int i = 0; i < 2000; i++) {
+            sketch.add("item-" + (i % 1000), 1); // 배경 조회
+        }
+        sketch.top(10); // 주기적인 순위 계산이 가득 찬 후보 목록을 정리
+        for (int i = 0; i < 50; i++) {
+            sketch.add("hot-a", 1);
+        }
+        for (int i = 0; i < 12; i++) {
+            sketch.add("hot-b", 5); // 입찰 가중치 (60)
+        }
+
+        List<TrendingSketch.Entry> top = sketch.top(2);
+
+        assertEquals(2, top.size());
+        assertEquals("hot-b", top.get(0).key());
+        assertEquals("hot-a", top.get(1).key());
+        assertTrue(sketch.candidateCount() <= 100);
+    }
+
+    @Test
+    void countsLeaveTheWindowAfterEveryBucketRotates() {
+        TrendingSketch sketch = new TrendingSketch(3, 4, 1024, 100);
+        for (int i = 0; i < 10; i++) {
+            sketch.add("old", 1);
+        }
+        sketch.rotate();
+        sketch.add("new", 1);
+
+        assertEquals(10, sketch.estimate("old")); // 아직 창 안
+        assertEquals("old", sketch.top(1).get(0).key());
+
+        sketch.rotate();
+        sketch.rotate(); // "old"가 더해진 구간이 비워짐
+
+        assertEquals(0, sketch.estimate("old"));
+        assertEquals(List.of(new TrendingSketch.Entry("new", 1)), sketch.top(5));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.usedauction.service;
+
+import com.example.usedauction.repository.UserRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 큰 프로필 이미지를 가진 사용자의 닉네임 수정: findById + save(문서 전체) 방식과 $set 부분 수정 방식 비교
+// 서버가 받은 바이트 수(serverStatus network.bytesIn)와 지연 시간을 출력
+// 실행: RUN_BENCHMARKS=true ./gradlew test --tests '*UserUpdateBenchmarkTest'
+@DataMongoTest
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class UserUpdateBenchmarkTest {
+
+    private static final int USERS = 50;
+    private static final int UPDATES_PER_USER = 20;
+    private static final int PROFILE_IMAGE_BYTES = 512 * 1024; // base64 인코딩 전 이미지 크기
+    private static final String USERS_COLLECTION = "users";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void compareWholeDocumentSaveAndFieldUpdate() {
+        List<String> ids = createUsers();
+
+        run("warm-up", ids, this::saveWholeDocument);
+        run("findById + save", ids, this::saveWholeDocument);
+        run("$set nickname", ids, this::updateNickname);
+
+        String last = "nick-" + (UPDATES_PER_USER - 1);
+        assertEquals(last, userRepository.findById(ids.get(0)).orElseThrow().getNickname());
+    }
+
+    // 이미지가 사용자 문서 안에 base64로 들어 있던 이전 방식의 큰 문서를 만듦
+    private List<String> createUsers() {
+        byte[] image = new byte[PROFILE_IMAGE_BYTES];
+        new Random(42).nextBytes(image);
+        String profileImage = Base64.getEncoder().encodeToString(image);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            Document user = new Document("email", "bench-" + i + "@example.com")
+                    .append("nickname", "nick")
+                    .append("profileImage", profileImage);
+            mongoTemplate.insert(user, USERS_COLLECTION);
+            ids.add(user.getObjectId("_id").toHexString());
+        }
+        return ids;
+    }
+
+    // 변경 전 방식: 문서 전체를 읽고 다시 씀
+    private void saveWholeDocument(String id, String nickname) {
+        Document user = mongoTemplate.findById(new ObjectId(id), Document.class, USERS_COLLECTION);
+        user.put("nickname", nickname);
+        mongoTemplate.save(user, USERS_COLLECTION);
+    }
+
+    private void updateNickname(String id, String nickname) {
+        userRepository.updateFields(id, Map.of("nickname", nickname)).orElseThrow();
+    }
+
+    private void run(String name, List<String> ids, BiConsumer<String, String> update) {
+        long[] latencies = new long[ids.size() * UPDATES_PER_USER];
+        long bytesBefore = serverBytesIn();
+        int index = 0;
+        for (int i = 0; i < UPDATES_PER_USER; i++) {
+            for (String id : ids) {
+                long begin = System.nanoTime();
+                update.accept(id, "nick-" + i);
+                latencies[index++] = System.nanoTime() - begin;
+            }
+        }
+        long bytesIn = serverBytesIn() - bytesBefore;
+
+        Arrays.sort(latencies);
+        System.out.printf("%s: %.1f KB sent per update, mean=%.2fms, p50=%.2fms, p99=%.2fms%n", name,
+                bytesIn / 1024.0 / latencies.length,
+                Arrays.stream(latencies).average().orElse(0) / 1e6,
+                latencies[latencies.length / 2] / 1e6,
+                latencies[(int) (latencies.length * 0.99)] / 1e6);
+    }
+
+    // 서버가 지금까지 받은 바이트 수
+    private long serverBytesIn() {
+        Document status = mongoTemplate.executeCommand(new Document("serverStatus", 1));
+        return ((Number) status.get("network", Document.class).get("bytesIn")).longValue();
+    }
+}